@@ -0,0 +1,172 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.bnd;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.SingleEntryFileBasedIndexExtension;
+import com.intellij.util.indexing.SingleEntryIndexer;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Indexes the Bundle-SymbolicName of every bnd.bnd in the project, so finding
+ * the bundles of a workspace does not need to walk and parse the disk.
+ *
+ * @author agent
+ */
+public class BndBundleSymbolicNameIndex extends SingleEntryFileBasedIndexExtension<String> {
+
+	public static final ID<Integer, String> NAME = ID.create("liferay.bnd.bundleSymbolicName");
+
+	/**
+	 * @return the Bundle-SymbolicName without directives, or null if the bnd
+	 *         properties do not set one
+	 */
+	@Nullable
+	public static String getBundleSymbolicName(@NotNull Properties properties) {
+		String bsn = properties.getProperty("Bundle-SymbolicName");
+
+		if (bsn == null) {
+			return null;
+		}
+
+		int index = bsn.indexOf(';');
+
+		if (index != -1) {
+			bsn = bsn.substring(0, index);
+		}
+
+		bsn = bsn.trim();
+
+		if (bsn.isEmpty()) {
+			return null;
+		}
+
+		return bsn;
+	}
+
+	/**
+	 * Must be called in a read action, returns null while indexing.
+	 */
+	@Nullable
+	public static String getBundleSymbolicName(@NotNull Project project, @NotNull VirtualFile bndFile) {
+		if (DumbService.isDumb(project)) {
+			return null;
+		}
+
+		FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+
+		Map<Integer, String> fileData = fileBasedIndex.getFileData(NAME, bndFile, project);
+
+		for (String bsn : fileData.values()) {
+			return bsn;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Must be called in a read action in smart mode.
+	 *
+	 * @return the bnd.bnd files in the scope that set a Bundle-SymbolicName,
+	 *         mapped to it
+	 */
+	@NotNull
+	public static Map<VirtualFile, String> getBundleSymbolicNames(
+		@NotNull Project project, @NotNull GlobalSearchScope globalSearchScope) {
+
+		Map<VirtualFile, String> bundleSymbolicNames = new LinkedHashMap<>();
+
+		Collection<VirtualFile> bndFiles = FilenameIndex.getVirtualFilesByName(_BND_FILE_NAME, globalSearchScope);
+
+		FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+
+		for (VirtualFile bndFile : bndFiles) {
+			Map<Integer, String> fileData = fileBasedIndex.getFileData(NAME, bndFile, project);
+
+			for (String bsn : fileData.values()) {
+				bundleSymbolicNames.put(bndFile, bsn);
+			}
+		}
+
+		return bundleSymbolicNames;
+	}
+
+	@NotNull
+	@Override
+	public FileBasedIndex.InputFilter getInputFilter() {
+		return new DefaultFileTypeSpecificInputFilter(BndFileType.INSTANCE) {
+
+			@Override
+			public boolean acceptInput(@NotNull VirtualFile file) {
+				return _BND_FILE_NAME.equals(file.getName());
+			}
+
+		};
+	}
+
+	@NotNull
+	@Override
+	public SingleEntryIndexer<String> getIndexer() {
+		return new SingleEntryIndexer<>(false) {
+
+			@Nullable
+			@Override
+			protected String computeValue(@NotNull FileContent fileContent) {
+				Properties properties = new Properties();
+
+				try {
+					properties.load(new StringReader(String.valueOf(fileContent.getContentAsText())));
+				}
+				catch (IOException | IllegalArgumentException exception) {
+					return null;
+				}
+
+				return getBundleSymbolicName(properties);
+			}
+
+		};
+	}
+
+	@NotNull
+	@Override
+	public ID<Integer, String> getName() {
+		return NAME;
+	}
+
+	@NotNull
+	@Override
+	public DataExternalizer<String> getValueExternalizer() {
+		return EnumeratorStringDescriptor.INSTANCE;
+	}
+
+	@Override
+	public int getVersion() {
+		return 0;
+	}
+
+	private static final String _BND_FILE_NAME = "bnd.bnd";
+
+}
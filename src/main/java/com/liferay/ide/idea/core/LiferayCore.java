@@ -18,6 +18,21 @@ import java.util.ServiceLoader;
 public class LiferayCore {
 
 	public static WorkspaceProvider getWorkspaceProvider(Project project) {
+		if ((project == null) || project.isDisposed()) {
+			return null;
+		}
+
+		if (project.isDefault()) {
+			return resolveWorkspaceProvider(project);
+		}
+
+		LiferayWorkspaceProviderService liferayWorkspaceProviderService =
+			LiferayWorkspaceProviderService.getInstance(project);
+
+		return liferayWorkspaceProviderService.getWorkspaceProvider();
+	}
+
+	public static WorkspaceProvider resolveWorkspaceProvider(Project project) {
 		Collection<WorkspaceProvider> workspaceProviders = _getWorkspaceProviders();
 
 		for (WorkspaceProvider provider : workspaceProviders) {
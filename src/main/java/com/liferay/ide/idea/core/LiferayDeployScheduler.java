@@ -0,0 +1,222 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Runs one deploy task per module in the order of the module dependency
+ * graph. A module starts once all the modules it depends on have finished,
+ * independent modules run at the same time up to the parallelism. Modules
+ * whose dependencies failed are not deployed, their futures complete with a
+ * {@link CancellationException}. Dependency cycles are broken by starting the
+ * waiting module with the fewest unfinished dependencies.
+ *
+ * <p>
+ * Tasks are started from the thread that completed the previous task and must
+ * not block, they return a future instead.
+ * </p>
+ *
+ * @author agent
+ */
+public class LiferayDeployScheduler<T> {
+
+	/**
+	 * @param dependencies the modules to deploy, mapped to the modules they
+	 *        depend on, dependencies that are not deployed are ignored
+	 */
+	public LiferayDeployScheduler(
+		Map<String, ? extends Collection<String>> dependencies, int parallelism,
+		Function<String, CompletableFuture<T>> task) {
+
+		_parallelism = Math.max(1, parallelism);
+		_task = task;
+
+		for (Map.Entry<String, ? extends Collection<String>> entry : dependencies.entrySet()) {
+			String module = entry.getKey();
+
+			Set<String> moduleDependencies = new LinkedHashSet<>();
+
+			for (String dependency : entry.getValue()) {
+				if (!Objects.equals(module, dependency) && dependencies.containsKey(dependency)) {
+					moduleDependencies.add(dependency);
+
+					List<String> dependents = _dependents.computeIfAbsent(dependency, key -> new ArrayList<>());
+
+					dependents.add(module);
+				}
+			}
+
+			_futures.put(module, new CompletableFuture<>());
+			_waiting.put(module, moduleDependencies);
+		}
+	}
+
+	/**
+	 * @return the future of each module, in the order the modules were given
+	 */
+	public Map<String, CompletableFuture<T>> getFutures() {
+		return Collections.unmodifiableMap(_futures);
+	}
+
+	/**
+	 * Starts deploying.
+	 *
+	 * @return a future that completes once every module finished, failed or
+	 *         was skipped
+	 */
+	public CompletableFuture<Void> start() {
+		synchronized (this) {
+			for (Map.Entry<String, Set<String>> entry : _waiting.entrySet()) {
+				Set<String> moduleDependencies = entry.getValue();
+
+				if (moduleDependencies.isEmpty()) {
+					_ready.add(entry.getKey());
+				}
+			}
+
+			_ready.forEach(_waiting::remove);
+		}
+
+		_dispatch();
+
+		return CompletableFuture.allOf(
+			_futures.values(
+			).toArray(
+				new CompletableFuture<?>[0]
+			)
+		).handle(
+			(unused, throwable) -> null
+		);
+	}
+
+	private void _dispatch() {
+		List<String> modules = new ArrayList<>();
+
+		synchronized (this) {
+			if (_ready.isEmpty() && (_running == 0) && !_waiting.isEmpty()) {
+				_ready.add(_getCycleBreaker());
+			}
+
+			while ((_running < _parallelism) && !_ready.isEmpty()) {
+				String module = _ready.poll();
+
+				_waiting.remove(module);
+
+				_running++;
+
+				modules.add(module);
+			}
+		}
+
+		for (String module : modules) {
+			CompletableFuture<T> future;
+
+			try {
+				future = _task.apply(module);
+			}
+			catch (RuntimeException runtimeException) {
+				future = CompletableFuture.failedFuture(runtimeException);
+			}
+
+			future.whenComplete((result, throwable) -> _finish(module, result, throwable));
+		}
+	}
+
+	private void _finish(String module, T result, Throwable throwable) {
+		List<String> skippedModules = new ArrayList<>();
+
+		synchronized (this) {
+			_running--;
+
+			List<String> dependents = _dependents.getOrDefault(module, Collections.emptyList());
+
+			if (throwable == null) {
+				for (String dependent : dependents) {
+					Set<String> moduleDependencies = _waiting.get(dependent);
+
+					if ((moduleDependencies != null) && moduleDependencies.remove(module) &&
+						moduleDependencies.isEmpty()) {
+
+						_waiting.remove(dependent);
+
+						_ready.add(dependent);
+					}
+				}
+			}
+			else {
+				_skip(dependents, skippedModules);
+			}
+		}
+
+		CompletableFuture<T> future = _futures.get(module);
+
+		if (throwable == null) {
+			future.complete(result);
+		}
+		else {
+			future.completeExceptionally(throwable);
+		}
+
+		for (String skippedModule : skippedModules) {
+			future = _futures.get(skippedModule);
+
+			future.completeExceptionally(
+				new CancellationException("Skipped " + skippedModule + " because " + module + " failed"));
+		}
+
+		_dispatch();
+	}
+
+	private String _getCycleBreaker() {
+		String cycleBreaker = null;
+		int count = Integer.MAX_VALUE;
+
+		for (Map.Entry<String, Set<String>> entry : _waiting.entrySet()) {
+			Set<String> moduleDependencies = entry.getValue();
+
+			if (moduleDependencies.size() < count) {
+				cycleBreaker = entry.getKey();
+				count = moduleDependencies.size();
+			}
+		}
+
+		return cycleBreaker;
+	}
+
+	private void _skip(List<String> dependents, List<String> skippedModules) {
+		for (String dependent : dependents) {
+			if (_waiting.remove(dependent) != null) {
+				skippedModules.add(dependent);
+
+				_skip(_dependents.getOrDefault(dependent, Collections.emptyList()), skippedModules);
+			}
+		}
+	}
+
+	private final Map<String, List<String>> _dependents = new HashMap<>();
+	private final Map<String, CompletableFuture<T>> _futures = new LinkedHashMap<>();
+	private final int _parallelism;
+	private final Queue<String> _ready = new ArrayDeque<>();
+	private int _running;
+	private final Function<String, CompletableFuture<T>> _task;
+	private final Map<String, Set<String>> _waiting = new LinkedHashMap<>();
+
+}
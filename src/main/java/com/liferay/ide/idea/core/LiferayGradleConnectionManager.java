@@ -0,0 +1,185 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ModelBuilder;
+import org.gradle.tooling.ProjectConnection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author agent
+ */
+public class LiferayGradleConnectionManager implements Disposable {
+
+	/**
+	 * Closes a connection on a pooled thread, because closing blocks until
+	 * every operation running on the connection has finished.
+	 */
+	public static void closeInBackground(@Nullable ProjectConnection projectConnection) {
+		if (projectConnection == null) {
+			return;
+		}
+
+		ExecutorService executorService = AppExecutorUtil.getAppExecutorService();
+
+		executorService.execute(
+			() -> {
+				try {
+					projectConnection.close();
+				}
+				catch (Exception exception) {
+					_log.warn("Unable to close Gradle connection", exception);
+				}
+			});
+	}
+
+	public static LiferayGradleConnectionManager getInstance(@NotNull Project project) {
+		return project.getService(LiferayGradleConnectionManager.class);
+	}
+
+	public LiferayGradleConnectionManager(@NotNull Project project) {
+		_project = project;
+	}
+
+	public void closeConnection(@NotNull File projectDirectory, @Nullable String gradleVersion) {
+		closeInBackground(_connections.remove(_getKey(projectDirectory, gradleVersion)));
+	}
+
+	@Override
+	public void dispose() {
+		_disposed = true;
+
+		List<ProjectConnection> projectConnections = new ArrayList<>(_connections.values());
+
+		_connections.clear();
+
+		for (ProjectConnection projectConnection : projectConnections) {
+			closeInBackground(projectConnection);
+		}
+	}
+
+	/**
+	 * The returned connection is shared and owned by this manager, callers
+	 * must not close it. Builds that do not end on their own, like following
+	 * the Docker container logs, need a connection of their own so they do
+	 * not keep the shared one from closing.
+	 */
+	@NotNull
+	public ProjectConnection getConnection(@NotNull File projectDirectory, @Nullable String gradleVersion) {
+		if (_disposed || _project.isDisposed()) {
+			throw new IllegalStateException("Gradle connections of project " + _project.getName() + " are disposed");
+		}
+
+		return _connections.computeIfAbsent(
+			_getKey(projectDirectory, gradleVersion),
+			key -> {
+				GradleConnector gradleConnector = GradleConnector.newConnector();
+
+				gradleConnector.forProjectDirectory(projectDirectory);
+
+				if (gradleVersion != null) {
+					gradleConnector.useGradleVersion(gradleVersion);
+				}
+
+				return gradleConnector.connect();
+			});
+	}
+
+	public <T> T getModel(
+		@NotNull File projectDirectory, @Nullable String gradleVersion, @NotNull Class<T> modelClass,
+		String... arguments) {
+
+		return getModel(projectDirectory, gradleVersion, null, modelClass, arguments);
+	}
+
+	public <T> T getModel(
+		@NotNull File projectDirectory, @Nullable String gradleVersion, @Nullable File javaHome,
+		@NotNull Class<T> modelClass, String... arguments) {
+
+		_modelRequestPermits.acquireUninterruptibly();
+
+		try {
+			ProjectConnection projectConnection = getConnection(projectDirectory, gradleVersion);
+
+			ModelBuilder<T> modelBuilder = projectConnection.model(modelClass);
+
+			if (javaHome != null) {
+				modelBuilder.setJavaHome(javaHome);
+			}
+
+			if (arguments.length > 0) {
+				modelBuilder.withArguments(arguments);
+			}
+
+			return modelBuilder.get();
+		}
+		catch (GradleConnectionException gradleConnectionException) {
+			if (_isConnectionFailure(gradleConnectionException)) {
+				closeConnection(projectDirectory, gradleVersion);
+			}
+
+			throw gradleConnectionException;
+		}
+		finally {
+			_modelRequestPermits.release();
+		}
+	}
+
+	private String _getKey(File projectDirectory, String gradleVersion) {
+		String path;
+
+		try {
+			path = projectDirectory.getCanonicalPath();
+		}
+		catch (IOException ioException) {
+			path = projectDirectory.getAbsolutePath();
+		}
+
+		if (gradleVersion == null) {
+			return path;
+		}
+
+		return path + "@" + gradleVersion;
+	}
+
+	private boolean _isConnectionFailure(GradleConnectionException gradleConnectionException) {
+
+		// Failed or cancelled builds, unsupported versions and failing listeners
+		// are reported with subclasses, the connection itself is still usable
+
+		return Objects.equals(gradleConnectionException.getClass(), GradleConnectionException.class);
+	}
+
+	private static final int _MAX_CONCURRENT_MODEL_REQUESTS = 2;
+
+	private static final Logger _log = Logger.getInstance(LiferayGradleConnectionManager.class);
+
+	private final Map<String, ProjectConnection> _connections = new ConcurrentHashMap<>();
+	private volatile boolean _disposed;
+	private final Semaphore _modelRequestPermits = new Semaphore(_MAX_CONCURRENT_MODEL_REQUESTS, true);
+	private final Project _project;
+
+}
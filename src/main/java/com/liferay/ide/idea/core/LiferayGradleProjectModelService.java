@@ -0,0 +1,248 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.externalSystem.service.project.manage.ProjectDataImportListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.messages.MessageBus;
+import com.intellij.util.messages.MessageBusConnection;
+
+import com.liferay.ide.idea.util.GradleProjectIndex;
+
+import java.io.File;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.gradle.tooling.model.GradleProject;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author agent
+ */
+public class LiferayGradleProjectModelService implements Disposable {
+
+	public static LiferayGradleProjectModelService getInstance(@NotNull Project project) {
+		return project.getService(LiferayGradleProjectModelService.class);
+	}
+
+	public LiferayGradleProjectModelService(@NotNull Project project) {
+		_project = project;
+
+		MessageBus messageBus = project.getMessageBus();
+
+		MessageBusConnection messageBusConnection = messageBus.connect(this);
+
+		messageBusConnection.subscribe(
+			VirtualFileManager.VFS_CHANGES,
+			new BulkFileListener() {
+
+				@Override
+				public void after(@NotNull List<? extends VFileEvent> events) {
+					for (VFileEvent event : events) {
+						if (_isBuildFileEvent(event)) {
+							invalidate();
+
+							return;
+						}
+					}
+				}
+
+			});
+
+		messageBusConnection.subscribe(
+			ProjectDataImportListener.TOPIC,
+			new ProjectDataImportListener() {
+
+				@Override
+				public void onImportFinished(@Nullable String projectPath) {
+					if (Objects.equals(projectPath, _project.getBasePath())) {
+						invalidate();
+					}
+				}
+
+			});
+	}
+
+	@Override
+	public synchronized void dispose() {
+		_gradleProjectIndex = null;
+		_modificationCount++;
+		_refreshFuture = null;
+	}
+
+	/**
+	 * Returns a model that reflects the current build files, fetching it from
+	 * the Tooling API if the cached one has been invalidated.
+	 */
+	@Nullable
+	public GradleProject getGradleProject() {
+		return getGradleProject(false);
+	}
+
+	/**
+	 * @param allowStale when true and a model has been fetched before, the
+	 *        cached model is returned immediately and a refresh is scheduled
+	 *        in the background if the build files have changed since
+	 */
+	@Nullable
+	public GradleProject getGradleProject(boolean allowStale) {
+		GradleProjectIndex gradleProjectIndex = getGradleProjectIndex(allowStale);
+
+		if (gradleProjectIndex == null) {
+			return null;
+		}
+
+		return gradleProjectIndex.getRootGradleProject();
+	}
+
+	@Nullable
+	public GradleProjectIndex getGradleProjectIndex(boolean allowStale) {
+		GradleProjectIndex gradleProjectIndex = _gradleProjectIndex;
+
+		if ((gradleProjectIndex != null) && (_gradleProjectIndexModificationCount == _modificationCount)) {
+			return gradleProjectIndex;
+		}
+
+		CompletableFuture<GradleProjectIndex> refreshFuture = _refresh();
+
+		if (allowStale && (gradleProjectIndex != null)) {
+			return gradleProjectIndex;
+		}
+
+		try {
+			return refreshFuture.get();
+		}
+		catch (InterruptedException interruptedException) {
+			Thread currentThread = Thread.currentThread();
+
+			currentThread.interrupt();
+
+			return null;
+		}
+		catch (ExecutionException executionException) {
+			Throwable cause = executionException.getCause();
+
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			}
+
+			throw new RuntimeException(cause);
+		}
+	}
+
+	public synchronized void invalidate() {
+		_modificationCount++;
+	}
+
+	private GradleProjectIndex _fetch() {
+		String basePath = _project.getBasePath();
+
+		if ((basePath == null) || _project.isDisposed()) {
+			return null;
+		}
+
+		LiferayGradleConnectionManager liferayGradleConnectionManager = LiferayGradleConnectionManager.getInstance(
+			_project);
+
+		GradleProject gradleProject = liferayGradleConnectionManager.getModel(
+			new File(basePath), null, GradleProject.class);
+
+		if (gradleProject == null) {
+			return null;
+		}
+
+		return new GradleProjectIndex(gradleProject);
+	}
+
+	private boolean _isBuildFileEvent(VFileEvent event) {
+		if (_isBuildFilePath(event.getPath())) {
+			return true;
+		}
+
+		if (event instanceof VFileMoveEvent) {
+			VFileMoveEvent moveEvent = (VFileMoveEvent)event;
+
+			return _isBuildFilePath(moveEvent.getOldPath());
+		}
+
+		if (event instanceof VFilePropertyChangeEvent) {
+			VFilePropertyChangeEvent propertyChangeEvent = (VFilePropertyChangeEvent)event;
+
+			if (propertyChangeEvent.isRename()) {
+				return _isBuildFilePath(propertyChangeEvent.getOldPath()) ||
+					   _isBuildFilePath(propertyChangeEvent.getNewPath());
+			}
+		}
+
+		return false;
+	}
+
+	private boolean _isBuildFilePath(String path) {
+		String basePath = _project.getBasePath();
+
+		if ((basePath == null) || (path == null) || !path.startsWith(basePath + "/")) {
+			return false;
+		}
+
+		String fileName = path.substring(path.lastIndexOf('/') + 1);
+
+		return _buildFileNames.contains(fileName);
+	}
+
+	private synchronized CompletableFuture<GradleProjectIndex> _refresh() {
+		long modificationCount = _modificationCount;
+
+		if ((_refreshFuture != null) && (_refreshModificationCount == modificationCount)) {
+			return _refreshFuture;
+		}
+
+		CompletableFuture<GradleProjectIndex> refreshFuture = CompletableFuture.supplyAsync(
+			this::_fetch, AppExecutorUtil.getAppExecutorService());
+
+		_refreshFuture = refreshFuture;
+		_refreshModificationCount = modificationCount;
+
+		refreshFuture.whenComplete(
+			(gradleProjectIndex, throwable) -> {
+				synchronized (this) {
+					if (_refreshFuture == refreshFuture) {
+						_refreshFuture = null;
+					}
+
+					if ((gradleProjectIndex != null) && (modificationCount >= _gradleProjectIndexModificationCount)) {
+						_gradleProjectIndex = gradleProjectIndex;
+						_gradleProjectIndexModificationCount = modificationCount;
+					}
+				}
+			});
+
+		return refreshFuture;
+	}
+
+	private static final List<String> _buildFileNames = Arrays.asList(
+		"build.gradle", "gradle-local.properties", "gradle.properties", "settings.gradle");
+
+	private volatile GradleProjectIndex _gradleProjectIndex;
+	private volatile long _gradleProjectIndexModificationCount = -1;
+	private volatile long _modificationCount;
+	private final Project _project;
+	private CompletableFuture<GradleProjectIndex> _refreshFuture;
+	private long _refreshModificationCount;
+
+}
@@ -5,6 +5,7 @@
 
 package com.liferay.ide.idea.core;
 
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.externalSystem.model.ExternalSystemException;
 import com.intellij.openapi.externalSystem.model.task.ExternalSystemTaskId;
 import com.intellij.openapi.externalSystem.model.task.ExternalSystemTaskNotificationListener;
@@ -17,8 +18,12 @@ import java.nio.file.Paths;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.gradle.tooling.BuildLauncher;
@@ -58,6 +63,14 @@ public class LiferayGradleTaskManager implements GradleTaskManagerExtension {
 
 		listener.onCancel(projectPath, id);
 
+		CompletableFuture<Void> waitForStopFuture = _waitForStopFutures.remove(id);
+
+		if (waitForStopFuture != null) {
+			waitForStopFuture.cancel(false);
+
+			return true;
+		}
+
 		final CancellationTokenSource cancellationTokenSource = _cancellationMap.get(id);
 
 		if (cancellationTokenSource != null) {
@@ -87,23 +100,28 @@ public class LiferayGradleTaskManager implements GradleTaskManagerExtension {
 		);
 
 		if (tasks.contains("stopDockerContainer")) {
-			BuildLauncher buildLauncher = _gerBuilderLauncher(id, tasks, projectPath, settings, listener);
+			ProjectConnection connection = _connect(projectPath);
+
+			BuildLauncher buildLauncher = _gerBuilderLauncher(id, tasks, connection, settings, listener);
 
-			_runStopDockerContainerTask(id, buildLauncher);
+			_runStopDockerContainerTask(id, projectPath, connection, buildLauncher);
 
 			return true;
 		}
 
 		if (tasks.contains("startDockerContainer") && tasks.contains("logsDockerContainer")) {
-			BuildLauncher buildLauncher = _gerBuilderLauncher(id, tasks, projectPath, settings, listener);
+			ProjectConnection connection = _connect(projectPath);
 
-			while (true) {
-				if (_isStopped.get()) {
-					_runStartDockerContainerTask(id, buildLauncher);
+			try {
+				BuildLauncher buildLauncher = _gerBuilderLauncher(id, tasks, connection, settings, listener);
 
-					break;
+				if (_waitForStop(id, projectPath)) {
+					_runStartDockerContainerTask(id, projectPath, buildLauncher);
 				}
 			}
+			finally {
+				LiferayGradleConnectionManager.closeInBackground(connection);
+			}
 
 			return true;
 		}
@@ -111,17 +129,25 @@ public class LiferayGradleTaskManager implements GradleTaskManagerExtension {
 		return GradleTaskManagerExtension.super.executeTasks(projectPath, id, settings, listener);
 	}
 
-	private BuildLauncher _gerBuilderLauncher(
-		ExternalSystemTaskId id, List<String> tasks, String projectPath, GradleExecutionSettings settings,
-		ExternalSystemTaskNotificationListener listener) {
-
+	/**
+	 * The Docker tasks get a connection of their own instead of the shared one
+	 * of {@link LiferayGradleConnectionManager}, following the container logs
+	 * does not end until the task is cancelled and would keep the shared
+	 * connection from closing.
+	 */
+	private ProjectConnection _connect(String projectPath) {
 		GradleConnector gradleConnector = GradleConnector.newConnector();
 
 		Path projectVirtualFilePath = Paths.get(projectPath);
 
 		gradleConnector.forProjectDirectory(projectVirtualFilePath.toFile());
 
-		ProjectConnection connection = gradleConnector.connect();
+		return gradleConnector.connect();
+	}
+
+	private BuildLauncher _gerBuilderLauncher(
+		ExternalSystemTaskId id, List<String> tasks, ProjectConnection connection, GradleExecutionSettings settings,
+		ExternalSystemTaskNotificationListener listener) {
 
 		BuildLauncher buildLauncher = connection.newBuild();
 
@@ -142,7 +168,9 @@ public class LiferayGradleTaskManager implements GradleTaskManagerExtension {
 		return buildLauncher;
 	}
 
-	private void _runStartDockerContainerTask(ExternalSystemTaskId id, BuildLauncher buildLauncher) {
+	private void _runStartDockerContainerTask(
+		ExternalSystemTaskId id, String projectPath, BuildLauncher buildLauncher) {
+
 		CancellationTokenSource cancellationTokenSource = GradleConnector.newCancellationTokenSource();
 
 		_cancellationMap.put(id, cancellationTokenSource);
@@ -156,33 +184,117 @@ public class LiferayGradleTaskManager implements GradleTaskManagerExtension {
 			throw new ExternalSystemException(exception);
 		}
 		finally {
-			_isStopped.set(false);
+			_cancellationMap.remove(id);
+
+			// The container may still be running, the next start has to wait for a stop
+
+			_stoppedFutures.put(projectPath, new CompletableFuture<>());
 		}
 	}
 
-	private void _runStopDockerContainerTask(ExternalSystemTaskId id, BuildLauncher buildLauncher) {
+	private void _runStopDockerContainerTask(
+		ExternalSystemTaskId id, String projectPath, ProjectConnection connection, BuildLauncher buildLauncher) {
+
+		CompletableFuture<Void> stoppedFuture = _stoppedFutures.compute(
+			projectPath,
+			(key, currentStoppedFuture) -> {
+				if ((currentStoppedFuture == null) || currentStoppedFuture.isDone()) {
+					return new CompletableFuture<>();
+				}
+
+				return currentStoppedFuture;
+			});
+
+		CancellationTokenSource cancellationTokenSource = GradleConnector.newCancellationTokenSource();
+
+		_cancellationMap.put(id, cancellationTokenSource);
+
+		buildLauncher.withCancellationToken(cancellationTokenSource.token());
+
 		try {
 			buildLauncher.run(
 				new ResultHandler<Void>() {
 
 					@Override
 					public void onComplete(Void unused) {
-						_isStopped.set(true);
 						_cancellationMap.remove(id);
+
+						LiferayGradleConnectionManager.closeInBackground(connection);
+
+						stoppedFuture.complete(null);
 					}
 
 					@Override
 					public void onFailure(GradleConnectionException gradleConnectionException) {
+						_cancellationMap.remove(id);
+
+						// Usually the container was not running, let the next start report any real problem
+
+						_log.warn("Unable to stop Docker container of " + projectPath, gradleConnectionException);
+
+						LiferayGradleConnectionManager.closeInBackground(connection);
+
+						stoppedFuture.complete(null);
 					}
 
 				});
 		}
 		catch (Exception exception) {
+			_cancellationMap.remove(id);
+
+			LiferayGradleConnectionManager.closeInBackground(connection);
+
+			stoppedFuture.complete(null);
+
 			throw new ExternalSystemException(exception);
 		}
 	}
 
+	/**
+	 * @return false if the task was cancelled while waiting
+	 */
+	private boolean _waitForStop(ExternalSystemTaskId id, String projectPath) {
+		CompletableFuture<Void> stoppedFuture = _stoppedFutures.computeIfAbsent(
+			projectPath, key -> CompletableFuture.completedFuture(null));
+
+		if (stoppedFuture.isDone()) {
+			return true;
+		}
+
+		CompletableFuture<Void> waitForStopFuture = stoppedFuture.copy(
+		).orTimeout(
+			_STOP_TIMEOUT_MINUTES, TimeUnit.MINUTES
+		);
+
+		_waitForStopFutures.put(id, waitForStopFuture);
+
+		try {
+			waitForStopFuture.join();
+
+			return true;
+		}
+		catch (CancellationException cancellationException) {
+			return false;
+		}
+		catch (CompletionException completionException) {
+			if (completionException.getCause() instanceof TimeoutException) {
+				throw new ExternalSystemException(
+					"Timed out after " + _STOP_TIMEOUT_MINUTES + " minutes waiting for the Docker container to stop");
+			}
+
+			throw new ExternalSystemException(completionException.getCause());
+		}
+		finally {
+			_waitForStopFutures.remove(id);
+		}
+	}
+
+	private static final long _STOP_TIMEOUT_MINUTES = 5;
+
+	private static final Logger _log = Logger.getInstance(LiferayGradleTaskManager.class);
+
 	private final Map<ExternalSystemTaskId, CancellationTokenSource> _cancellationMap = new ConcurrentHashMap<>();
-	private AtomicBoolean _isStopped = new AtomicBoolean(true);
+	private final Map<String, CompletableFuture<Void>> _stoppedFutures = new ConcurrentHashMap<>();
+	private final Map<ExternalSystemTaskId, CompletableFuture<Void>> _waitForStopFutures = new ConcurrentHashMap<>();
 
 }
\ No newline at end of file
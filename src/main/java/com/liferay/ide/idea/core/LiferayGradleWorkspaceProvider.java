@@ -5,47 +5,29 @@
 
 package com.liferay.ide.idea.core;
 
-import com.google.common.collect.ListMultimap;
-
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.text.StringUtil;
 
 import com.liferay.ide.idea.util.CoreUtil;
-import com.liferay.ide.idea.util.GradleDependency;
-import com.liferay.ide.idea.util.GradleDependencyUpdater;
+import com.liferay.ide.idea.util.DependencyManagementModel;
 import com.liferay.ide.idea.util.GradleUtil;
+import com.liferay.ide.idea.util.GradleWorkspaceSettings;
 import com.liferay.ide.idea.util.LiferayWorkspaceSupport;
-import com.liferay.ide.idea.util.PropertiesUtil;
 import com.liferay.release.util.ReleaseEntry;
 import com.liferay.release.util.ReleaseUtil;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.StringReader;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Properties;
 import java.util.regex.Pattern;
 
-import org.gradle.tooling.GradleConnector;
-import org.gradle.tooling.ProjectConnection;
-import org.gradle.tooling.model.DomainObjectSet;
-import org.gradle.tooling.model.GradleProject;
-import org.gradle.tooling.model.GradleTask;
-
 import org.osgi.framework.Version;
 
 /**
@@ -73,129 +55,12 @@ public class LiferayGradleWorkspaceProvider extends AbstractWorkspaceProvider {
 	}
 
 	public List<String> getTargetPlatformDependencies() {
-		String targetPlatformVersion = getTargetPlatformVersion();
-
-		List<String> targetPlatformDependencyList = targetPlatformDependenciesMap.get(targetPlatformVersion);
-
-		if ((targetPlatformDependencyList != null) && !targetPlatformDependencyList.isEmpty()) {
-			return targetPlatformDependencyList;
-		}
-
-		File javaHomeFile = null;
-
-		String pathEnv = System.getenv("PATH");
-
-		String[] paths = pathEnv.split(Pattern.quote(File.pathSeparator));
-
-		for (String pathValue : paths) {
-			Path path = Paths.get(pathValue);
-
-			Path javaPath = path.resolve("java");
-
-			if (!Files.exists(javaPath)) {
-				continue;
-			}
-
-			javaHomeFile = javaPath.toFile();
-
-			javaHomeFile = javaHomeFile.getParentFile();
-
-			javaHomeFile = javaHomeFile.getParentFile();
-
-			break;
-		}
-
-		if (javaHomeFile == null) {
-			javaHomeFile = new File(System.getProperty("java.home"));
-		}
-
-		if (!javaHomeFile.exists()) {
-			return Collections.emptyList();
-		}
-
-		GradleProject workspaceGradleProject = GradleUtil.getWorkspaceGradleProject(project);
-
-		DomainObjectSet<? extends GradleTask> tasksSet = workspaceGradleProject.getTasks();
-
-		List<? extends GradleTask> tasksList = tasksSet.getAll();
-
-		Optional<? extends GradleTask> dependencyManagementTask = tasksList.stream(
-		).filter(
-			task -> StringUtil.equals("dependencyManagement", task.getName())
-		).filter(
-			task -> workspaceGradleProject.equals(task.getProject())
-		).findAny();
-
-		List<String> list = new ArrayList<>();
-
-		if (dependencyManagementTask.isPresent()) {
-			File file = new File(project.getBasePath());
-
-			OutputStream outputStream = new ByteArrayOutputStream();
-
-			GradleConnector gradleConnector = GradleConnector.newConnector();
-
-			gradleConnector = gradleConnector.forProjectDirectory(file);
-
-			try (ProjectConnection connect = gradleConnector.connect()) {
-				connect.newBuild(
-				).setJavaHome(
-					javaHomeFile
-				).addArguments(
-					"--rerun-tasks"
-				).forTasks(
-					"dependencyManagement"
-				).setStandardOutput(
-					outputStream
-				).run();
-			}
-
-			String output = outputStream.toString();
-
-			String taskOutputInfo;
-
-			int ret = CoreUtil.compareVersions(
-				new Version(GradleUtil.getWorkspacePluginVersion(project)), new Version("2.2.4"));
-
-			if (ret < 0) {
-				taskOutputInfo = "compileOnly - Dependency management for the compileOnly configuration";
-			}
-			else {
-				taskOutputInfo = "> Task :dependencyManagement";
-			}
-
-			if (!CoreUtil.isNullOrEmpty(output) && !output.equals("")) {
-				BufferedReader bufferedReader = new BufferedReader(new StringReader(output));
-
-				String line;
-
-				try {
-					boolean start = false;
-
-					while ((line = bufferedReader.readLine()) != null) {
-						if (taskOutputInfo.equals(line)) {
-							start = true;
-
-							continue;
-						}
-
-						if (start) {
-							if (StringUtil.equals(line.trim(), "")) {
-								break;
-							}
+		LiferayTargetPlatformDependencyCache liferayTargetPlatformDependencyCache =
+			LiferayTargetPlatformDependencyCache.getInstance();
 
-							list.add(line.trim());
-						}
-					}
-				}
-				catch (IOException ioException) {
-				}
-			}
-		}
-
-		targetPlatformDependenciesMap.put(targetPlatformVersion, list);
-
-		return list;
+		return liferayTargetPlatformDependencyCache.getDependencies(
+			getTargetPlatformVersion(), GradleUtil.getWorkspacePluginVersion(project),
+			this::_getManagedDependencies);
 	}
 
 	@Override
@@ -245,24 +110,10 @@ public class LiferayGradleWorkspaceProvider extends AbstractWorkspaceProvider {
 
 	@Override
 	public String getWorkspaceProperty(String key, String defaultValue) {
-		File gradleProperties = new File(project.getBasePath(), "gradle.properties");
-		File gradleLocalProperties = new File(project.getBasePath(), "gradle-local.properties");
-
-		Properties properties = new Properties();
-
-		if (gradleProperties.exists()) {
-			properties.putAll(PropertiesUtil.loadProperties(gradleProperties));
-		}
+		LiferayWorkspacePropertiesService liferayWorkspacePropertiesService =
+			LiferayWorkspacePropertiesService.getInstance(project);
 
-		if (gradleLocalProperties.exists()) {
-			properties.putAll(PropertiesUtil.loadProperties(gradleLocalProperties));
-		}
-
-		if (properties.isEmpty()) {
-			return defaultValue;
-		}
-
-		return properties.getProperty(key, defaultValue);
+		return liferayWorkspacePropertiesService.getProperty(key, defaultValue);
 	}
 
 	@Override
@@ -297,44 +148,9 @@ public class LiferayGradleWorkspaceProvider extends AbstractWorkspaceProvider {
 
 	@Override
 	public boolean isFlexibleLiferayWorkspace() {
-		File settingsGradleFile = new File(project.getBasePath(), "settings.gradle");
-
-		GradleDependencyUpdater gradleDependencyUpdater = null;
-
-		try {
-			gradleDependencyUpdater = new GradleDependencyUpdater(settingsGradleFile);
-		}
-		catch (IOException ioException) {
-		}
-
-		String pluginVersion = Optional.ofNullable(
-			gradleDependencyUpdater
-		).flatMap(
-			updater -> {
-				ListMultimap<String, GradleDependency> dependencies = updater.getAllDependencies();
-
-				List<GradleDependency> artifacts = new ArrayList<>(dependencies.values());
-
-				return artifacts.stream(
-				).filter(
-					artifact -> Objects.equals(artifact.getGroup(), "com.liferay")
-				).filter(
-					artifact -> Objects.equals(artifact.getName(), "com.liferay.gradle.plugins.workspace")
-				).filter(
-					artifact -> !CoreUtil.isNullOrEmpty(artifact.getVersion())
-				).map(
-					GradleDependency::getVersion
-				).findFirst();
-			}
-		).orElseGet(
-			() -> "2.2.4"
-		);
+		GradleWorkspaceSettings gradleWorkspaceSettings = GradleUtil.getWorkspaceSettings(project);
 
-		if (CoreUtil.compareVersions(new Version(pluginVersion), new Version("2.5.0")) >= 0) {
-			return true;
-		}
-
-		return false;
+		return gradleWorkspaceSettings.isFlexibleWorkspace();
 	}
 
 	public boolean isGradleWorkspace() {
@@ -350,6 +166,54 @@ public class LiferayGradleWorkspaceProvider extends AbstractWorkspaceProvider {
 		return null;
 	}
 
-	public Map<String, List<String>> targetPlatformDependenciesMap = new HashMap<>();
+	private File _getJavaHome() {
+		String pathEnv = System.getenv("PATH");
+
+		String[] paths = pathEnv.split(Pattern.quote(File.pathSeparator));
+
+		for (String pathValue : paths) {
+			Path path = Paths.get(pathValue);
+
+			Path javaPath = path.resolve("java");
+
+			if (!Files.exists(javaPath)) {
+				continue;
+			}
+
+			File javaHomeFile = javaPath.toFile();
+
+			javaHomeFile = javaHomeFile.getParentFile();
+
+			return javaHomeFile.getParentFile();
+		}
+
+		return new File(System.getProperty("java.home"));
+	}
+
+	private List<String> _getManagedDependencies() {
+		File javaHomeFile = _getJavaHome();
+
+		if (!javaHomeFile.exists()) {
+			return Collections.emptyList();
+		}
+
+		try {
+			DependencyManagementModel dependencyManagementModel = GradleUtil.getDependencyManagementModel(
+				project, javaHomeFile);
+
+			if (dependencyManagementModel == null) {
+				return Collections.emptyList();
+			}
+
+			return dependencyManagementModel.getManagedDependencies();
+		}
+		catch (Exception exception) {
+			_log.warn("Unable to get the managed dependencies of " + project.getName(), exception);
+
+			return Collections.emptyList();
+		}
+	}
+
+	private static final Logger _log = Logger.getInstance(LiferayGradleWorkspaceProvider.class);
 
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.externalSystem.service.project.manage.ProjectDataImportListener;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.ModuleListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.Function;
+import com.intellij.util.messages.MessageBus;
+import com.intellij.util.messages.MessageBusConnection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.plugins.gradle.settings.GradleExtensionsSettings;
+
+/**
+ * Keeps what each Gradle module of the project can do, computed from the
+ * Gradle tasks once the Gradle import finishes, so that action updates only
+ * need a map lookup. Modules the map does not know yet, because they were
+ * added or had no Gradle data at the last import, are looked up again on
+ * each use until their data shows up.
+ *
+ * @author agent
+ */
+public class LiferayModuleCapabilityService implements Disposable {
+
+	public static LiferayModuleCapabilityService getInstance(@NotNull Project project) {
+		return project.getService(LiferayModuleCapabilityService.class);
+	}
+
+	public LiferayModuleCapabilityService(@NotNull Project project) {
+		_project = project;
+
+		MessageBus messageBus = project.getMessageBus();
+
+		MessageBusConnection messageBusConnection = messageBus.connect(this);
+
+		messageBusConnection.subscribe(
+			ProjectDataImportListener.TOPIC,
+			new ProjectDataImportListener() {
+
+				@Override
+				public void onImportFinished(@Nullable String projectPath) {
+					if (Objects.equals(projectPath, _project.getBasePath())) {
+						_capabilities = _computeCapabilities();
+					}
+				}
+
+			});
+
+		messageBusConnection.subscribe(
+			ModuleListener.TOPIC,
+			new ModuleListener() {
+
+				@Override
+				public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
+					Map<String, Capabilities> capabilities = _capabilities;
+
+					if (capabilities != null) {
+						capabilities.remove(module.getName());
+					}
+				}
+
+				@Override
+				public void modulesRenamed(
+					@NotNull Project project, @NotNull List<? extends Module> modules,
+					@NotNull Function<? super Module, String> oldNameProvider) {
+
+					_capabilities = null;
+				}
+
+			});
+	}
+
+	@Override
+	public void dispose() {
+		_capabilities = null;
+	}
+
+	public boolean isServiceBuilder(@Nullable Module module) {
+		Capabilities capabilities = _getCapabilities(module);
+
+		if (capabilities == null) {
+			return false;
+		}
+
+		return capabilities.serviceBuilder;
+	}
+
+	public boolean isWarCoreExt(@Nullable Module module) {
+		Capabilities capabilities = _getCapabilities(module);
+
+		if (capabilities == null) {
+			return false;
+		}
+
+		return capabilities.warCoreExt;
+	}
+
+	public boolean isWatchable(@Nullable Module module) {
+		Capabilities capabilities = _getCapabilities(module);
+
+		if (capabilities == null) {
+			return false;
+		}
+
+		return capabilities.watchable;
+	}
+
+	@Nullable
+	private Capabilities _computeCapabilities(GradleExtensionsSettings.Settings settings, Module module) {
+		GradleExtensionsSettings.GradleExtensionsData gradleExtensionsData = settings.getExtensionsFor(module);
+
+		if (gradleExtensionsData == null) {
+			return null;
+		}
+
+		Map<String, GradleExtensionsSettings.GradleTask> tasksMap = gradleExtensionsData.tasksMap;
+
+		GradleExtensionsSettings.GradleTask watchTask = tasksMap.get("watch");
+
+		return new Capabilities(
+			tasksMap.containsKey("buildService"), tasksMap.containsKey("buildExtInfo"),
+			(watchTask != null) && Objects.equals(_WATCH_TASK_TYPE, watchTask.getTypeFqn()));
+	}
+
+	private Map<String, Capabilities> _computeCapabilities() {
+		Map<String, Capabilities> capabilitiesMap = new ConcurrentHashMap<>();
+
+		if (_project.isDisposed()) {
+			return capabilitiesMap;
+		}
+
+		GradleExtensionsSettings.Settings settings = GradleExtensionsSettings.getInstance(_project);
+
+		ModuleManager moduleManager = ModuleManager.getInstance(_project);
+
+		for (Module module : moduleManager.getModules()) {
+			Capabilities capabilities = _computeCapabilities(settings, module);
+
+			if (capabilities != null) {
+				capabilitiesMap.put(module.getName(), capabilities);
+			}
+		}
+
+		return capabilitiesMap;
+	}
+
+	private Capabilities _getCapabilities(@Nullable Module module) {
+		if (module == null) {
+			return null;
+		}
+
+		Map<String, Capabilities> capabilities = _capabilities;
+
+		if (capabilities == null) {
+
+			// Nothing has been imported since the project was opened or the
+			// modules were renamed, use the Gradle data known right now
+
+			capabilities = _computeCapabilities();
+
+			_capabilities = capabilities;
+		}
+
+		Capabilities moduleCapabilities = capabilities.get(module.getName());
+
+		if ((moduleCapabilities == null) && !_project.isDisposed()) {
+			moduleCapabilities = _computeCapabilities(GradleExtensionsSettings.getInstance(_project), module);
+
+			if (moduleCapabilities != null) {
+				capabilities.put(module.getName(), moduleCapabilities);
+			}
+		}
+
+		return moduleCapabilities;
+	}
+
+	private static final String _WATCH_TASK_TYPE = "com.liferay.gradle.plugins.task.WatchTask";
+
+	private volatile Map<String, Capabilities> _capabilities;
+	private final Project _project;
+
+	private static class Capabilities {
+
+		public Capabilities(boolean serviceBuilder, boolean warCoreExt, boolean watchable) {
+			this.serviceBuilder = serviceBuilder;
+			this.warCoreExt = warCoreExt;
+			this.watchable = watchable;
+		}
+
+		public final boolean serviceBuilder;
+		public final boolean warCoreExt;
+		public final boolean watchable;
+
+	}
+
+}
@@ -0,0 +1,194 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+
+import com.liferay.ide.idea.util.CoreUtil;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * @author agent
+ */
+public class LiferayTargetPlatformDependencyCache {
+
+	public static LiferayTargetPlatformDependencyCache getInstance() {
+		Application application = ApplicationManager.getApplication();
+
+		return application.getService(LiferayTargetPlatformDependencyCache.class);
+	}
+
+	public LiferayTargetPlatformDependencyCache() {
+		this(Paths.get(PathManager.getSystemPath(), "liferay", "target-platform-dependencies"));
+	}
+
+	public LiferayTargetPlatformDependencyCache(@NotNull Path cacheDir) {
+		_cacheDir = cacheDir;
+	}
+
+	/**
+	 * Returns the managed dependencies of a target platform, reading them from
+	 * memory or disk when they are known. Otherwise the loader is invoked
+	 * once, even when several callers ask for the same key at the same time,
+	 * and a non-empty result is written to disk.
+	 */
+	@NotNull
+	public List<String> getDependencies(
+		String targetPlatformVersion, String workspacePluginVersion, @NotNull Supplier<List<String>> loader) {
+
+		if (CoreUtil.isNullOrEmpty(targetPlatformVersion)) {
+			return Collections.emptyList();
+		}
+
+		String key = _getKey(targetPlatformVersion, workspacePluginVersion);
+
+		List<String> dependencies = _dependencies.get(key);
+
+		if (dependencies != null) {
+			return dependencies;
+		}
+
+		CompletableFuture<List<String>> future = new CompletableFuture<>();
+
+		CompletableFuture<List<String>> runningFuture = _loadingFutures.putIfAbsent(key, future);
+
+		if (runningFuture != null) {
+			return runningFuture.join();
+		}
+
+		try {
+			dependencies = _dependencies.get(key);
+
+			if (dependencies == null) {
+				dependencies = _read(key);
+			}
+
+			if (dependencies == null) {
+				List<String> loadedDependencies = loader.get();
+
+				if ((loadedDependencies == null) || loadedDependencies.isEmpty()) {
+					future.complete(Collections.emptyList());
+
+					return Collections.emptyList();
+				}
+
+				dependencies = Collections.unmodifiableList(new ArrayList<>(loadedDependencies));
+
+				_write(key, dependencies);
+			}
+
+			_dependencies.put(key, dependencies);
+
+			future.complete(dependencies);
+
+			return dependencies;
+		}
+		catch (RuntimeException runtimeException) {
+			future.completeExceptionally(runtimeException);
+
+			throw runtimeException;
+		}
+		finally {
+			_loadingFutures.remove(key, future);
+		}
+	}
+
+	public void invalidate(String targetPlatformVersion, String workspacePluginVersion) {
+		String key = _getKey(targetPlatformVersion, workspacePluginVersion);
+
+		_dependencies.remove(key);
+
+		try {
+			Files.deleteIfExists(_getCacheFile(key));
+		}
+		catch (IOException ioException) {
+			_log.warn("Unable to delete cached target platform dependencies " + key, ioException);
+		}
+	}
+
+	private Path _getCacheFile(String key) {
+		return _cacheDir.resolve(key + ".txt");
+	}
+
+	private String _getKey(String targetPlatformVersion, String workspacePluginVersion) {
+		String key = targetPlatformVersion + "_" + workspacePluginVersion;
+
+		return key.replaceAll("[^\\w.\\-]", "_");
+	}
+
+	private List<String> _read(String key) {
+		Path cacheFile = _getCacheFile(key);
+
+		if (Files.notExists(cacheFile)) {
+			return null;
+		}
+
+		try {
+			List<String> dependencies = new ArrayList<>();
+
+			for (String line : Files.readAllLines(cacheFile, StandardCharsets.UTF_8)) {
+				if (!CoreUtil.isNullOrEmpty(line)) {
+					dependencies.add(line);
+				}
+			}
+
+			if (dependencies.isEmpty()) {
+				return null;
+			}
+
+			return Collections.unmodifiableList(dependencies);
+		}
+		catch (IOException ioException) {
+			_log.warn("Unable to read cached target platform dependencies " + cacheFile, ioException);
+
+			return null;
+		}
+	}
+
+	private void _write(String key, List<String> dependencies) {
+		Path cacheFile = _getCacheFile(key);
+
+		try {
+			Files.createDirectories(_cacheDir);
+
+			Path tempFile = Files.createTempFile(_cacheDir, key, ".tmp");
+
+			Files.write(tempFile, dependencies, StandardCharsets.UTF_8);
+
+			Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ioException) {
+			_log.warn("Unable to write cached target platform dependencies " + cacheFile, ioException);
+		}
+	}
+
+	private static final Logger _log = Logger.getInstance(LiferayTargetPlatformDependencyCache.class);
+
+	private final Path _cacheDir;
+	private final Map<String, List<String>> _dependencies = new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<List<String>>> _loadingFutures = new ConcurrentHashMap<>();
+
+}
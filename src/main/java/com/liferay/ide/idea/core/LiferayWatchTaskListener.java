@@ -0,0 +1,32 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.externalSystem.model.task.ExternalSystemTaskId;
+import com.intellij.openapi.externalSystem.model.task.ExternalSystemTaskNotificationListener;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * @author agent
+ */
+public class LiferayWatchTaskListener implements ExternalSystemTaskNotificationListener {
+
+	@Override
+	public void onEnd(@NotNull ExternalSystemTaskId id) {
+		LiferayWatchTaskRegistry liferayWatchTaskRegistry = LiferayWatchTaskRegistry.getInstance();
+
+		liferayWatchTaskRegistry.taskFinished(id);
+	}
+
+	@Override
+	public void onStart(@NotNull ExternalSystemTaskId id, String workingDir) {
+		LiferayWatchTaskRegistry liferayWatchTaskRegistry = LiferayWatchTaskRegistry.getInstance();
+
+		liferayWatchTaskRegistry.taskStarted(id);
+	}
+
+}
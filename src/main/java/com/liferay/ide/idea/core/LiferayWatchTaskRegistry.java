@@ -0,0 +1,140 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.ide.projectView.ProjectView;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.externalSystem.model.task.ExternalSystemTask;
+import com.intellij.openapi.externalSystem.model.task.ExternalSystemTaskId;
+import com.intellij.openapi.externalSystem.model.task.ExternalSystemTaskState;
+import com.intellij.openapi.externalSystem.service.internal.ExternalSystemExecuteTaskTask;
+import com.intellij.openapi.externalSystem.service.internal.ExternalSystemProcessingManager;
+import com.intellij.openapi.project.Project;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.plugins.gradle.util.GradleConstants;
+
+/**
+ * Keeps the external project paths of the running Gradle watch tasks, so
+ * checking whether a module is watched is a single lookup. Updated by
+ * {@link LiferayWatchTaskListener} when tasks start and end.
+ *
+ * @author agent
+ */
+public class LiferayWatchTaskRegistry {
+
+	public static LiferayWatchTaskRegistry getInstance() {
+		Application application = ApplicationManager.getApplication();
+
+		return application.getService(LiferayWatchTaskRegistry.class);
+	}
+
+	public LiferayWatchTaskRegistry() {
+		ExternalSystemProcessingManager processingManager = _getProcessingManager();
+
+		List<ExternalSystemTask> tasks = processingManager.findTasksOfState(
+			GradleConstants.SYSTEM_ID, ExternalSystemTaskState.IN_PROGRESS);
+
+		for (ExternalSystemTask task : tasks) {
+			_add(task);
+		}
+	}
+
+	public boolean isWatching(@Nullable String externalProjectPath) {
+		if (externalProjectPath == null) {
+			return false;
+		}
+
+		return _watchedProjectPaths.contains(externalProjectPath);
+	}
+
+	public void taskFinished(@NotNull ExternalSystemTaskId id) {
+		synchronized (this) {
+			String externalProjectPath = _watchTasks.remove(id);
+
+			if (externalProjectPath == null) {
+				return;
+			}
+
+			if (!_watchTasks.containsValue(externalProjectPath)) {
+				_watchedProjectPaths.remove(externalProjectPath);
+			}
+		}
+
+		_refresh(id);
+	}
+
+	public void taskStarted(@NotNull ExternalSystemTaskId id) {
+		if (!Objects.equals(GradleConstants.SYSTEM_ID, id.getProjectSystemId())) {
+			return;
+		}
+
+		ExternalSystemProcessingManager processingManager = _getProcessingManager();
+
+		if (_add(processingManager.findTask(id))) {
+			_refresh(id);
+		}
+	}
+
+	private boolean _add(@Nullable ExternalSystemTask task) {
+		if (!(task instanceof ExternalSystemExecuteTaskTask)) {
+			return false;
+		}
+
+		ExternalSystemExecuteTaskTask executeTaskTask = (ExternalSystemExecuteTaskTask)task;
+
+		List<String> tasksToExecute = executeTaskTask.getTasksToExecute();
+
+		if (!tasksToExecute.contains("watch")) {
+			return false;
+		}
+
+		String externalProjectPath = executeTaskTask.getExternalProjectPath();
+
+		synchronized (this) {
+			_watchTasks.put(task.getId(), externalProjectPath);
+			_watchedProjectPaths.add(externalProjectPath);
+		}
+
+		return true;
+	}
+
+	private ExternalSystemProcessingManager _getProcessingManager() {
+		Application application = ApplicationManager.getApplication();
+
+		return application.getService(ExternalSystemProcessingManager.class);
+	}
+
+	private void _refresh(ExternalSystemTaskId id) {
+		Project project = id.findProject();
+
+		if ((project == null) || project.isDisposed()) {
+			return;
+		}
+
+		Application application = ApplicationManager.getApplication();
+
+		application.invokeLater(
+			() -> {
+				ProjectView projectView = ProjectView.getInstance(project);
+
+				projectView.refresh();
+			},
+			project.getDisposed());
+	}
+
+	private final Set<String> _watchedProjectPaths = ConcurrentHashMap.newKeySet();
+	private final Map<ExternalSystemTaskId, String> _watchTasks = new ConcurrentHashMap<>();
+
+}
@@ -0,0 +1,183 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.messages.MessageBus;
+import com.intellij.util.messages.MessageBusConnection;
+
+import com.liferay.ide.idea.util.PropertiesUtil;
+
+import java.io.File;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * @author agent
+ */
+public class LiferayWorkspacePropertiesService implements Disposable {
+
+	public static LiferayWorkspacePropertiesService getInstance(@NotNull Project project) {
+		return project.getService(LiferayWorkspacePropertiesService.class);
+	}
+
+	public LiferayWorkspacePropertiesService(@NotNull Project project) {
+		_project = project;
+
+		MessageBus messageBus = project.getMessageBus();
+
+		MessageBusConnection messageBusConnection = messageBus.connect(this);
+
+		messageBusConnection.subscribe(
+			VirtualFileManager.VFS_CHANGES,
+			new BulkFileListener() {
+
+				@Override
+				public void after(@NotNull List<? extends VFileEvent> events) {
+					for (VFileEvent event : events) {
+						if (_isWorkspacePropertiesEvent(event)) {
+							invalidate();
+
+							return;
+						}
+					}
+				}
+
+			});
+	}
+
+	@Override
+	public void dispose() {
+		invalidate();
+	}
+
+	public Map<String, String> getProperties() {
+		Map<String, String> properties = _properties;
+
+		if (properties != null) {
+			return properties;
+		}
+
+		long modificationCount;
+
+		synchronized (this) {
+			modificationCount = _modificationCount;
+		}
+
+		properties = _loadProperties();
+
+		synchronized (this) {
+			if (modificationCount == _modificationCount) {
+				_properties = properties;
+			}
+		}
+
+		return properties;
+	}
+
+	public String getProperty(String key, String defaultValue) {
+		Map<String, String> properties = getProperties();
+
+		return properties.getOrDefault(key, defaultValue);
+	}
+
+	public synchronized void invalidate() {
+		_modificationCount++;
+		_properties = null;
+	}
+
+	private boolean _isWorkspacePropertiesEvent(VFileEvent event) {
+		if (_isWorkspacePropertiesPath(event.getPath())) {
+			return true;
+		}
+
+		if (event instanceof VFileMoveEvent) {
+			VFileMoveEvent moveEvent = (VFileMoveEvent)event;
+
+			return _isWorkspacePropertiesPath(moveEvent.getOldPath());
+		}
+
+		if (event instanceof VFilePropertyChangeEvent) {
+			VFilePropertyChangeEvent propertyChangeEvent = (VFilePropertyChangeEvent)event;
+
+			if (propertyChangeEvent.isRename()) {
+				return _isWorkspacePropertiesPath(propertyChangeEvent.getOldPath()) ||
+					   _isWorkspacePropertiesPath(propertyChangeEvent.getNewPath());
+			}
+		}
+
+		return false;
+	}
+
+	private boolean _isWorkspacePropertiesPath(String path) {
+		String basePath = _project.getBasePath();
+
+		if ((basePath == null) || (path == null)) {
+			return false;
+		}
+
+		if (Objects.equals(path, basePath + "/" + _GRADLE_PROPERTIES_FILE_NAME) ||
+			Objects.equals(path, basePath + "/" + _GRADLE_LOCAL_PROPERTIES_FILE_NAME)) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private Map<String, String> _loadProperties() {
+		String basePath = _project.getBasePath();
+
+		if (basePath == null) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, String> properties = new HashMap<>();
+
+		_loadProperties(properties, new File(basePath, _GRADLE_PROPERTIES_FILE_NAME));
+		_loadProperties(properties, new File(basePath, _GRADLE_LOCAL_PROPERTIES_FILE_NAME));
+
+		return Collections.unmodifiableMap(properties);
+	}
+
+	private void _loadProperties(Map<String, String> properties, File propertiesFile) {
+		if (!propertiesFile.exists()) {
+			return;
+		}
+
+		Properties loadedProperties = PropertiesUtil.loadProperties(propertiesFile);
+
+		if (loadedProperties == null) {
+			return;
+		}
+
+		for (String key : loadedProperties.stringPropertyNames()) {
+			properties.put(key, loadedProperties.getProperty(key));
+		}
+	}
+
+	private static final String _GRADLE_LOCAL_PROPERTIES_FILE_NAME = "gradle-local.properties";
+
+	private static final String _GRADLE_PROPERTIES_FILE_NAME = "gradle.properties";
+
+	private long _modificationCount;
+	private final Project _project;
+	private volatile Map<String, String> _properties;
+
+}
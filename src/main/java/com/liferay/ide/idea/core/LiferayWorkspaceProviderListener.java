@@ -0,0 +1,26 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.util.messages.Topic;
+
+import java.util.EventListener;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author agent
+ */
+public interface LiferayWorkspaceProviderListener extends EventListener {
+
+	public static final Topic<LiferayWorkspaceProviderListener> TOPIC = new Topic<>(
+		"Liferay workspace provider changes", LiferayWorkspaceProviderListener.class);
+
+	public void workspaceProviderChanged(@NotNull Project project, @Nullable WorkspaceProvider workspaceProvider);
+
+}
@@ -0,0 +1,220 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.externalSystem.service.project.manage.ProjectDataImportListener;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.messages.MessageBus;
+import com.intellij.util.messages.MessageBusConnection;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.idea.maven.project.MavenImportListener;
+import org.jetbrains.idea.maven.project.MavenProject;
+
+/**
+ * @author agent
+ */
+public class LiferayWorkspaceProviderService implements Disposable {
+
+	public static LiferayWorkspaceProviderService getInstance(@NotNull Project project) {
+		return project.getService(LiferayWorkspaceProviderService.class);
+	}
+
+	public LiferayWorkspaceProviderService(@NotNull Project project) {
+		_project = project;
+
+		MessageBus messageBus = project.getMessageBus();
+
+		MessageBusConnection messageBusConnection = messageBus.connect(this);
+
+		messageBusConnection.subscribe(
+			VirtualFileManager.VFS_CHANGES,
+			new BulkFileListener() {
+
+				@Override
+				public void after(@NotNull List<? extends VFileEvent> events) {
+					for (VFileEvent event : events) {
+						if (_isWorkspaceDescriptorEvent(event)) {
+							invalidate();
+
+							return;
+						}
+					}
+				}
+
+			});
+
+		messageBusConnection.subscribe(
+			ProjectDataImportListener.TOPIC,
+			new ProjectDataImportListener() {
+
+				@Override
+				public void onImportFinished(@Nullable String projectPath) {
+					if (Objects.equals(projectPath, _project.getBasePath())) {
+						invalidate();
+					}
+				}
+
+			});
+
+		messageBusConnection.subscribe(
+			MavenImportListener.TOPIC,
+			new MavenImportListener() {
+
+				@Override
+				public void importFinished(
+					@NotNull Collection<MavenProject> projects, @NotNull List<@NotNull Module> list) {
+
+					invalidate();
+				}
+
+			});
+	}
+
+	@Override
+	public void dispose() {
+		synchronized (this) {
+			_modificationCount++;
+			_resolved = false;
+			_workspaceProvider = null;
+		}
+	}
+
+	@Nullable
+	public WorkspaceProvider getWorkspaceProvider() {
+		if (_resolved) {
+			return _workspaceProvider;
+		}
+
+		long modificationCount;
+
+		synchronized (this) {
+			modificationCount = _modificationCount;
+		}
+
+		WorkspaceProvider workspaceProvider = null;
+
+		if (!_project.isDisposed()) {
+			workspaceProvider = LiferayCore.resolveWorkspaceProvider(_project);
+		}
+
+		boolean changed;
+
+		synchronized (this) {
+			if (_resolved) {
+				return _workspaceProvider;
+			}
+
+			if (modificationCount != _modificationCount) {
+				return workspaceProvider;
+			}
+
+			changed = _initialized && !Objects.equals(_getType(_workspaceProvider), _getType(workspaceProvider));
+
+			_initialized = true;
+			_resolved = true;
+			_workspaceProvider = workspaceProvider;
+		}
+
+		if (changed && !_project.isDisposed()) {
+			MessageBus messageBus = _project.getMessageBus();
+
+			LiferayWorkspaceProviderListener liferayWorkspaceProviderListener = messageBus.syncPublisher(
+				LiferayWorkspaceProviderListener.TOPIC);
+
+			liferayWorkspaceProviderListener.workspaceProviderChanged(_project, workspaceProvider);
+		}
+
+		return workspaceProvider;
+	}
+
+	public void invalidate() {
+		synchronized (this) {
+			_modificationCount++;
+			_resolved = false;
+		}
+
+		if (_project.isDisposed()) {
+			return;
+		}
+
+		Application application = ApplicationManager.getApplication();
+
+		application.executeOnPooledThread(this::getWorkspaceProvider);
+	}
+
+	private Class<?> _getType(WorkspaceProvider workspaceProvider) {
+		if (workspaceProvider == null) {
+			return null;
+		}
+
+		return workspaceProvider.getClass();
+	}
+
+	private boolean _isWorkspaceDescriptorEvent(VFileEvent event) {
+		if (_isWorkspaceDescriptorPath(event.getPath())) {
+			return true;
+		}
+
+		if (event instanceof VFileMoveEvent) {
+			VFileMoveEvent moveEvent = (VFileMoveEvent)event;
+
+			return _isWorkspaceDescriptorPath(moveEvent.getOldPath());
+		}
+
+		if (event instanceof VFilePropertyChangeEvent) {
+			VFilePropertyChangeEvent propertyChangeEvent = (VFilePropertyChangeEvent)event;
+
+			if (propertyChangeEvent.isRename()) {
+				return _isWorkspaceDescriptorPath(propertyChangeEvent.getOldPath()) ||
+					   _isWorkspaceDescriptorPath(propertyChangeEvent.getNewPath());
+			}
+		}
+
+		return false;
+	}
+
+	private boolean _isWorkspaceDescriptorPath(String path) {
+		String basePath = _project.getBasePath();
+
+		if ((basePath == null) || (path == null)) {
+			return false;
+		}
+
+		if (Objects.equals(path, basePath + "/" + _SETTINGS_GRADLE_FILE_NAME) ||
+			Objects.equals(path, basePath + "/" + _POM_XML_FILE_NAME)) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private static final String _POM_XML_FILE_NAME = "pom.xml";
+
+	private static final String _SETTINGS_GRADLE_FILE_NAME = "settings.gradle";
+
+	private boolean _initialized;
+	private long _modificationCount;
+	private final Project _project;
+	private volatile boolean _resolved;
+	private volatile WorkspaceProvider _workspaceProvider;
+
+}
@@ -0,0 +1,101 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import com.liferay.ide.idea.util.GradleWorkspaceSettings;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * @author agent
+ */
+public class LiferayWorkspaceSettingsService {
+
+	public static LiferayWorkspaceSettingsService getInstance(@NotNull Project project) {
+		return project.getService(LiferayWorkspaceSettingsService.class);
+	}
+
+	public LiferayWorkspaceSettingsService(@NotNull Project project) {
+		_project = project;
+	}
+
+	/**
+	 * Parses the settings.gradle of the project once per modification stamp,
+	 * taking the stamp of the open document when there is one so unsaved
+	 * edits are seen.
+	 */
+	public GradleWorkspaceSettings getSettings() {
+		File settingsGradleFile = new File(_project.getBasePath(), "settings.gradle");
+
+		LocalFileSystem localFileSystem = LocalFileSystem.getInstance();
+
+		VirtualFile settingsGradleVirtualFile = localFileSystem.findFileByIoFile(settingsGradleFile);
+
+		Document document = null;
+
+		if (settingsGradleVirtualFile != null) {
+			FileDocumentManager fileDocumentManager = FileDocumentManager.getInstance();
+
+			document = fileDocumentManager.getCachedDocument(settingsGradleVirtualFile);
+		}
+
+		long modificationStamp;
+
+		if (document != null) {
+			modificationStamp = document.getModificationStamp();
+		}
+		else if (settingsGradleVirtualFile != null) {
+			modificationStamp = settingsGradleVirtualFile.getModificationStamp();
+		}
+		else {
+			modificationStamp = settingsGradleFile.lastModified() + settingsGradleFile.length();
+		}
+
+		GradleWorkspaceSettings gradleWorkspaceSettings = _gradleWorkspaceSettings;
+
+		if ((gradleWorkspaceSettings != null) &&
+			(gradleWorkspaceSettings.getModificationStamp() == modificationStamp)) {
+
+			return gradleWorkspaceSettings;
+		}
+
+		String scriptContents = null;
+
+		if (document != null) {
+			CharSequence charSequence = document.getImmutableCharSequence();
+
+			scriptContents = charSequence.toString();
+		}
+		else if (settingsGradleFile.exists()) {
+			try {
+				scriptContents = FileUtils.readFileToString(settingsGradleFile, "UTF-8");
+			}
+			catch (IOException ioException) {
+			}
+		}
+
+		gradleWorkspaceSettings = GradleWorkspaceSettings.parse(scriptContents, modificationStamp);
+
+		_gradleWorkspaceSettings = gradleWorkspaceSettings;
+
+		return gradleWorkspaceSettings;
+	}
+
+	private volatile GradleWorkspaceSettings _gradleWorkspaceSettings;
+	private final Project _project;
+
+}
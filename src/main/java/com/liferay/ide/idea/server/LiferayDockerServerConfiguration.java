@@ -394,7 +394,8 @@ public class LiferayDockerServerConfiguration
 					CompletableFuture<ProjectInfo> future = CompletableFuture.supplyAsync(
 						() -> {
 							try {
-								return GradleUtil.getModel(ProjectInfo.class, ProjectUtil.guessProjectDir(_project));
+								return GradleUtil.getModel(
+									_project, ProjectInfo.class, ProjectUtil.guessProjectDir(_project));
 							}
 							catch (Exception exception) {
 								return null;
@@ -64,7 +64,7 @@ public class LiferayDockerServerConfigurationEditor
 							() -> {
 								try {
 									return GradleUtil.getModel(
-										ProjectInfo.class, ProjectUtil.guessProjectDir(_project));
+										_project, ProjectInfo.class, ProjectUtil.guessProjectDir(_project));
 								}
 								catch (Exception exception) {
 									return null;
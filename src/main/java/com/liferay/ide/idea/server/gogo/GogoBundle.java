@@ -0,0 +1,82 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import java.util.Objects;
+
+/**
+ * One row of the Gogo shell <code>lb -s</code> output.
+ *
+ * @author agent
+ */
+public class GogoBundle {
+
+	public static final String ACTIVE = "Active";
+
+	public GogoBundle(long id, String symbolicName, String version, String state) {
+		_id = id;
+		_symbolicName = symbolicName;
+		_version = version;
+		_state = state;
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+
+		if (!(object instanceof GogoBundle)) {
+			return false;
+		}
+
+		GogoBundle gogoBundle = (GogoBundle)object;
+
+		if ((_id == gogoBundle._id) && Objects.equals(_symbolicName, gogoBundle._symbolicName) &&
+			Objects.equals(_version, gogoBundle._version) && Objects.equals(_state, gogoBundle._state)) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	public long getId() {
+		return _id;
+	}
+
+	public String getState() {
+		return _state;
+	}
+
+	public String getSymbolicName() {
+		return _symbolicName;
+	}
+
+	public String getVersion() {
+		return _version;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(_id, _symbolicName, _version, _state);
+	}
+
+	public boolean isActive() {
+		return ACTIVE.equals(_state);
+	}
+
+	@Override
+	public String toString() {
+		return _id + "|" + _state + "|" + _symbolicName + " (" + _version + ")";
+	}
+
+	private final long _id;
+	private final String _state;
+	private final String _symbolicName;
+	private final String _version;
+
+}
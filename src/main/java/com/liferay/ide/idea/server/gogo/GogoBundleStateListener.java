@@ -0,0 +1,32 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import com.intellij.util.messages.Topic;
+
+import java.util.Collection;
+import java.util.EventListener;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * @author agent
+ */
+public interface GogoBundleStateListener extends EventListener {
+
+	public static final Topic<GogoBundleStateListener> TOPIC = new Topic<>(
+		"Liferay bundle state changes", GogoBundleStateListener.class);
+
+	/**
+	 * @param changedBundles bundles that were installed or changed state or
+	 *        version since the previous poll
+	 * @param removedBundles bundles that were uninstalled since the previous
+	 *        poll
+	 */
+	public void bundleStatesChanged(
+		@NotNull Collection<GogoBundle> changedBundles, @NotNull Collection<GogoBundle> removedBundles);
+
+}
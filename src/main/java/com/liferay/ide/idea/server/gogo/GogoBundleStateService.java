@@ -0,0 +1,470 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import com.intellij.ide.projectView.ProjectView;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.messages.MessageBus;
+
+import com.liferay.ide.idea.bnd.BndBundleSymbolicNameIndex;
+import com.liferay.ide.idea.util.LiferayWorkspaceSupport;
+import com.liferay.ide.idea.util.PropertiesUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps a table of the bundles installed in the workspace Liferay server by
+ * polling <code>lb -s</code> over the Gogo shell. Changes between two polls
+ * are published on {@link GogoBundleStateListener#TOPIC}.
+ *
+ * <p>
+ * The poll interval doubles up to {@link #MAX_POLL_INTERVAL} while nothing
+ * changes and drops back to {@link #MIN_POLL_INTERVAL} on every change, every
+ * {@link #pollNow()} and every {@link #waitForState}, so an idle server costs
+ * one small command every half minute.
+ * </p>
+ *
+ * @author agent
+ */
+public class GogoBundleStateService implements Disposable {
+
+	public static final long MAX_POLL_INTERVAL = 30000;
+
+	public static final long MIN_POLL_INTERVAL = 1000;
+
+	/**
+	 * @return the Bundle-SymbolicName of the bnd.bnd in the project directory
+	 *         without directives, or null if there is none
+	 */
+	@Nullable
+	public static String getBundleSymbolicName(@NotNull File projectDir) {
+		File bndFile = new File(projectDir, "bnd.bnd");
+
+		if (!bndFile.exists()) {
+			return null;
+		}
+
+		Properties properties = PropertiesUtil.loadProperties(bndFile);
+
+		if (properties == null) {
+			return null;
+		}
+
+		return BndBundleSymbolicNameIndex.getBundleSymbolicName(properties);
+	}
+
+	public static GogoBundleStateService getInstance(@NotNull Project project) {
+		return project.getService(GogoBundleStateService.class);
+	}
+
+	/**
+	 * @return the time of the <code>lastmodified</code> output in
+	 *         milliseconds, or -1 if the output holds none
+	 */
+	public static long parseLastModified(@Nullable String output) {
+		if (output == null) {
+			return -1;
+		}
+
+		String[] lines = output.split("\r?\n");
+
+		try {
+			return Long.parseLong(lines[lines.length - 1].trim());
+		}
+		catch (NumberFormatException numberFormatException) {
+			return -1;
+		}
+	}
+
+	/**
+	 * @return the bundles of the <code>lb -s</code> output keyed by bundle id,
+	 *         in the order they were listed
+	 */
+	public static Map<Long, GogoBundle> parseBundles(@Nullable String output) {
+		Map<Long, GogoBundle> bundles = new LinkedHashMap<>();
+
+		if (output == null) {
+			return bundles;
+		}
+
+		for (String line : output.split("\r?\n")) {
+			String[] columns = line.split("\\|", 4);
+
+			if (columns.length != 4) {
+				continue;
+			}
+
+			long id;
+
+			try {
+				id = Long.parseLong(columns[0].trim());
+			}
+			catch (NumberFormatException numberFormatException) {
+
+				// Header line
+
+				continue;
+			}
+
+			String symbolicName = columns[3].trim();
+			String version = "";
+
+			int index = symbolicName.lastIndexOf(" (");
+
+			if ((index > 0) && symbolicName.endsWith(")")) {
+				version = symbolicName.substring(index + 2, symbolicName.length() - 1);
+				symbolicName = symbolicName.substring(0, index);
+			}
+
+			bundles.put(id, new GogoBundle(id, symbolicName, version, columns[1].trim()));
+		}
+
+		return bundles;
+	}
+
+	public GogoBundleStateService(@NotNull Project project) {
+		_project = project;
+
+		_schedule(0);
+	}
+
+	@Override
+	public void dispose() {
+		synchronized (this) {
+			_disposed = true;
+
+			if (_scheduledFuture != null) {
+				_scheduledFuture.cancel(false);
+			}
+		}
+
+		for (Waiter waiter : _waiters) {
+			waiter.future.complete(null);
+		}
+
+		_waiters.clear();
+	}
+
+	/**
+	 * @return the installed bundle with the symbolic name, the most recently
+	 *         installed one if there are several, or null if there is none
+	 */
+	@Nullable
+	public GogoBundle getBundle(@NotNull String symbolicName) {
+		return _bundlesBySymbolicName.get(symbolicName);
+	}
+
+	@NotNull
+	public Collection<GogoBundle> getBundles() {
+		return Collections.unmodifiableCollection(_bundles.values());
+	}
+
+	/**
+	 * Polls right away and resets the poll interval, for callers that just
+	 * changed the server, like the deploy actions.
+	 */
+	public synchronized void pollNow() {
+		_pollInterval = MIN_POLL_INTERVAL;
+
+		if (_polling) {
+			_pollRequested = true;
+
+			return;
+		}
+
+		_schedule(0);
+	}
+
+	/**
+	 * Waits for a deployed bundle to reach a state. The bundle of the previous
+	 * build stays active until file install replaces it, so only a poll that
+	 * started after this call counts, and the bundle it lists must have been
+	 * installed or updated since the deploy started.
+	 *
+	 * @param  deployTime the time the deploy started, in milliseconds
+	 * @return a future that completes with the deployed bundle once it reaches
+	 *         the state, or with null once the timeout expires
+	 */
+	public CompletableFuture<GogoBundle> waitForState(
+		@NotNull String symbolicName, @NotNull String state, long deployTime, long timeout) {
+
+		GogoBundle gogoBundle = getBundle(symbolicName);
+
+		long bundleId = -1;
+
+		if (gogoBundle != null) {
+			bundleId = gogoBundle.getId();
+		}
+
+		Waiter waiter;
+
+		synchronized (this) {
+			waiter = new Waiter(symbolicName, state, bundleId, deployTime, _pollCount);
+		}
+
+		_waiters.add(waiter);
+
+		ScheduledExecutorService scheduledExecutorService = AppExecutorUtil.getAppScheduledExecutorService();
+
+		scheduledExecutorService.schedule(
+			() -> {
+				_waiters.remove(waiter);
+
+				waiter.future.complete(null);
+			},
+			timeout, TimeUnit.MILLISECONDS);
+
+		pollNow();
+
+		return waiter.future;
+	}
+
+	/**
+	 * @return the time the bundle was last installed or updated in
+	 *         milliseconds, or -1 if the Gogo shell did not tell
+	 */
+	private long _getLastModified(GogoSession gogoSession, long bundleId) {
+		try {
+			return parseLastModified(gogoSession.send("(bundle " + bundleId + ") lastmodified"));
+		}
+		catch (IOException ioException) {
+			return -1;
+		}
+	}
+
+	private boolean _isDeployed(Waiter waiter, GogoBundle gogoBundle, GogoSession gogoSession) {
+		if (!waiter.state.equals(gogoBundle.getState())) {
+			return false;
+		}
+
+		if (gogoBundle.getId() != waiter.bundleId) {
+
+			// Installed after the wait started
+
+			return true;
+		}
+
+		if ((gogoSession != null) && (_getLastModified(gogoSession, gogoBundle.getId()) >= waiter.deployTime)) {
+			return true;
+		}
+
+		return false;
+	}
+
+	private void _poll() {
+		long pollCount;
+
+		synchronized (this) {
+			if (_disposed || _polling) {
+				return;
+			}
+
+			_polling = true;
+
+			pollCount = ++_pollCount;
+		}
+
+		if (LiferayWorkspaceSupport.getHomeDir(_project) == null) {
+			_update(null, null, pollCount);
+
+			return;
+		}
+
+		GogoSessionService gogoSessionService = GogoSessionService.getInstance(_project);
+
+		GogoSession gogoSession = gogoSessionService.getSession();
+
+		CompletableFuture<String> future = gogoSession.sendAsync("lb -s");
+
+		future.whenCompleteAsync(
+			(output, throwable) -> _update(output, (throwable == null) ? gogoSession : null, pollCount),
+			AppExecutorUtil.getAppExecutorService());
+	}
+
+	private void _publish(Collection<GogoBundle> changedBundles, Collection<GogoBundle> removedBundles) {
+		if (_project.isDisposed()) {
+			return;
+		}
+
+		MessageBus messageBus = _project.getMessageBus();
+
+		GogoBundleStateListener gogoBundleStateListener = messageBus.syncPublisher(GogoBundleStateListener.TOPIC);
+
+		gogoBundleStateListener.bundleStatesChanged(changedBundles, removedBundles);
+
+		Application application = ApplicationManager.getApplication();
+
+		application.invokeLater(
+			() -> {
+				ProjectView projectView = ProjectView.getInstance(_project);
+
+				projectView.refresh();
+			},
+			_project.getDisposed());
+	}
+
+	private synchronized void _schedule(long delay) {
+		if (_disposed) {
+			return;
+		}
+
+		if (_scheduledFuture != null) {
+			_scheduledFuture.cancel(false);
+		}
+
+		ScheduledExecutorService scheduledExecutorService = AppExecutorUtil.getAppScheduledExecutorService();
+
+		_scheduledFuture = scheduledExecutorService.schedule(this::_poll, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param gogoSession the session that listed the bundles, or null when the
+	 *        server could not be reached, all bundles are then reported as
+	 *        removed
+	 * @param pollCount the number of the poll, waiters only accept polls that
+	 *        started after they did
+	 */
+	private void _update(String output, GogoSession gogoSession, long pollCount) {
+		boolean changed = false;
+
+		try {
+			Map<Long, GogoBundle> bundles = parseBundles(output);
+
+			List<GogoBundle> changedBundles = new ArrayList<>();
+
+			for (GogoBundle gogoBundle : bundles.values()) {
+				if (!Objects.equals(gogoBundle, _bundles.get(gogoBundle.getId()))) {
+					changedBundles.add(gogoBundle);
+				}
+			}
+
+			List<GogoBundle> removedBundles = new ArrayList<>();
+
+			for (GogoBundle gogoBundle : _bundles.values()) {
+				if (!bundles.containsKey(gogoBundle.getId())) {
+					removedBundles.add(gogoBundle);
+				}
+			}
+
+			changed = !changedBundles.isEmpty() || !removedBundles.isEmpty();
+
+			if (changed) {
+				Map<String, GogoBundle> bundlesBySymbolicName = new HashMap<>();
+
+				for (GogoBundle gogoBundle : bundles.values()) {
+					bundlesBySymbolicName.merge(
+						gogoBundle.getSymbolicName(), gogoBundle,
+						(bundle1, bundle2) -> (bundle1.getId() > bundle2.getId()) ? bundle1 : bundle2);
+				}
+
+				_bundles = bundles;
+				_bundlesBySymbolicName = bundlesBySymbolicName;
+			}
+
+			for (Waiter waiter : _waiters) {
+				if (waiter.pollCount >= pollCount) {
+					continue;
+				}
+
+				GogoBundle gogoBundle = getBundle(waiter.symbolicName);
+
+				if ((gogoBundle != null) && _isDeployed(waiter, gogoBundle, gogoSession)) {
+					_waiters.remove(waiter);
+
+					waiter.future.complete(gogoBundle);
+				}
+			}
+
+			if (changed) {
+				_publish(changedBundles, removedBundles);
+			}
+		}
+		finally {
+			synchronized (this) {
+				_polling = false;
+
+				if (changed) {
+					_pollInterval = MIN_POLL_INTERVAL;
+				}
+				else if (!_waiters.isEmpty()) {
+
+					// Somebody expects a change, keep looking closely
+
+					_pollInterval = MIN_POLL_INTERVAL;
+				}
+				else if (gogoSession == null) {
+					_pollInterval = MAX_POLL_INTERVAL;
+				}
+				else {
+					_pollInterval = Math.min(_pollInterval * 2, MAX_POLL_INTERVAL);
+				}
+
+				if (_pollRequested) {
+					_pollRequested = false;
+
+					_schedule(0);
+				}
+				else {
+					_schedule(_pollInterval);
+				}
+			}
+		}
+	}
+
+	private volatile Map<Long, GogoBundle> _bundles = Collections.emptyMap();
+	private volatile Map<String, GogoBundle> _bundlesBySymbolicName = Collections.emptyMap();
+	private boolean _disposed;
+	private long _pollCount;
+	private long _pollInterval = MIN_POLL_INTERVAL;
+	private boolean _polling;
+	private boolean _pollRequested;
+	private final Project _project;
+	private ScheduledFuture<?> _scheduledFuture;
+	private final List<Waiter> _waiters = new CopyOnWriteArrayList<>();
+
+	private static class Waiter {
+
+		public Waiter(String symbolicName, String state, long bundleId, long deployTime, long pollCount) {
+			this.symbolicName = symbolicName;
+			this.state = state;
+			this.bundleId = bundleId;
+			this.deployTime = deployTime;
+			this.pollCount = pollCount;
+		}
+
+		public final long bundleId;
+		public final long deployTime;
+		public final CompletableFuture<GogoBundle> future = new CompletableFuture<>();
+		public final long pollCount;
+		public final String state;
+		public final String symbolicName;
+
+	}
+
+}
@@ -0,0 +1,459 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking Gogo shell client. All socket I/O happens on the shared
+ * {@link GogoSelectorThread}, commands are pipelined on the connection and
+ * their futures complete in the order the commands were sent.
+ *
+ * <p>
+ * Futures are completed, and line consumers are called, on the selector
+ * thread. Callers must not block in dependent stages, use the async variants
+ * of {@link CompletableFuture} for slow work.
+ * </p>
+ *
+ * @author agent
+ */
+public class GogoChannelClient implements AutoCloseable {
+
+	/**
+	 * @param connectTimeout milliseconds allowed for connecting and for the
+	 *        telnet handshake
+	 * @param readTimeout milliseconds a sent command may wait without
+	 *        receiving any data before the connection is closed
+	 */
+	public static CompletableFuture<GogoChannelClient> connect(
+		String host, int port, Charset charset, long connectTimeout, long readTimeout) {
+
+		GogoChannelClient gogoChannelClient = new GogoChannelClient(charset, connectTimeout, readTimeout);
+
+		try {
+			GogoSelectorThread gogoSelectorThread = GogoSelectorThread.getInstance();
+
+			gogoChannelClient._gogoSelectorThread = gogoSelectorThread;
+
+			gogoSelectorThread.execute(() -> gogoChannelClient._connect(host, port));
+		}
+		catch (IOException ioException) {
+			gogoChannelClient._connectFuture.completeExceptionally(ioException);
+		}
+
+		return gogoChannelClient._connectFuture;
+	}
+
+	@Override
+	public void close() {
+		_gogoSelectorThread.execute(() -> _close(new IOException("Gogo shell connection was closed")));
+	}
+
+	public boolean isOpen() {
+		return !_closed;
+	}
+
+	public CompletableFuture<String> send(String command) {
+		return send(command, null);
+	}
+
+	/**
+	 * @param lineConsumer receives each output line on the selector thread as
+	 *        soon as it is complete, the returned future then completes with
+	 *        null, or with the first exception the consumer threw
+	 */
+	public CompletableFuture<String> send(String command, Consumer<String> lineConsumer) {
+		Request request = new Request(lineConsumer);
+
+		_gogoSelectorThread.execute(
+			() -> {
+				if (_closed) {
+					request.future.completeExceptionally(new IOException("Gogo shell connection was closed"));
+
+					return;
+				}
+
+				if (_requests.isEmpty()) {
+					_lastActivityTime = System.currentTimeMillis();
+				}
+
+				_requests.add(request);
+
+				_write((command + "\r\n").getBytes(_charset));
+			});
+
+		return request.future;
+	}
+
+	public CompletableFuture<List<String>> send(List<String> commands) {
+		List<CompletableFuture<String>> futures = new ArrayList<>(commands.size());
+
+		for (String command : commands) {
+			futures.add(send(command));
+		}
+
+		return CompletableFuture.allOf(
+			futures.toArray(new CompletableFuture<?>[0])
+		).thenApply(
+			unused -> {
+				List<String> outputs = new ArrayList<>(futures.size());
+
+				for (CompletableFuture<String> future : futures) {
+					outputs.add(future.join());
+				}
+
+				return outputs;
+			}
+		);
+	}
+
+	protected void checkDeadlines(long now) {
+		if (_closed) {
+			return;
+		}
+
+		if (!_connectFuture.isDone()) {
+			if ((now - _connectStartTime) > _connectTimeout) {
+				_close(new SocketTimeoutException("Timed out connecting to the Gogo shell"));
+			}
+
+			return;
+		}
+
+		if (!_requests.isEmpty() && ((now - _lastActivityTime) > _readTimeout)) {
+			_close(new SocketTimeoutException("Timed out waiting for the Gogo shell to respond"));
+		}
+	}
+
+	protected void handle(SelectionKey selectionKey) {
+		try {
+			if (selectionKey.isConnectable()) {
+				_socketChannel.finishConnect();
+
+				selectionKey.interestOps(SelectionKey.OP_READ);
+			}
+
+			if (selectionKey.isValid() && selectionKey.isReadable()) {
+				_read();
+			}
+
+			if (selectionKey.isValid() && selectionKey.isWritable()) {
+				_flush();
+			}
+		}
+		catch (IOException ioException) {
+			_close(ioException);
+		}
+		catch (RuntimeException runtimeException) {
+			_close(new IOException("Unexpected Gogo shell client failure", runtimeException));
+		}
+	}
+
+	private GogoChannelClient(Charset charset, long connectTimeout, long readTimeout) {
+		_charset = charset;
+		_connectTimeout = connectTimeout;
+		_readTimeout = readTimeout;
+
+		_gogoResponseDecoder = new GogoResponseDecoder(charset);
+
+		_gogoResponseDecoder.reset(null);
+	}
+
+	private void _close(IOException ioException) {
+		if (_closed) {
+			return;
+		}
+
+		_closed = true;
+
+		if (_selectionKey != null) {
+			_selectionKey.cancel();
+		}
+
+		if (_socketChannel != null) {
+			try {
+				_socketChannel.close();
+			}
+			catch (IOException closeIOException) {
+			}
+		}
+
+		_connectFuture.completeExceptionally(ioException);
+
+		Request request = _requests.poll();
+
+		while (request != null) {
+			request.future.completeExceptionally(ioException);
+
+			request = _requests.poll();
+		}
+	}
+
+	private void _connect(String host, int port) {
+		_connectStartTime = System.currentTimeMillis();
+
+		try {
+			_socketChannel = SocketChannel.open();
+
+			_socketChannel.configureBlocking(false);
+
+			int interestOps = SelectionKey.OP_READ;
+
+			if (!_socketChannel.connect(new InetSocketAddress(host, port))) {
+				interestOps = SelectionKey.OP_CONNECT;
+			}
+
+			GogoSelectorThread gogoSelectorThread = _gogoSelectorThread;
+
+			_selectionKey = _socketChannel.register(gogoSelectorThread.getSelector(), interestOps, this);
+		}
+		catch (IOException ioException) {
+			_close(ioException);
+		}
+	}
+
+	private void _flush() throws IOException {
+		while (!_writeQueue.isEmpty()) {
+			ByteBuffer byteBuffer = _writeQueue.peek();
+
+			_socketChannel.write(byteBuffer);
+
+			if (byteBuffer.hasRemaining()) {
+				_selectionKey.interestOps(_selectionKey.interestOps() | SelectionKey.OP_WRITE);
+
+				return;
+			}
+
+			_writeQueue.poll();
+		}
+
+		_selectionKey.interestOps(_selectionKey.interestOps() & ~SelectionKey.OP_WRITE);
+	}
+
+	/**
+	 * Handles the telnet negotiation the Gogo shell starts every connection
+	 * with. After its first four commands we offer a terminal type, answer
+	 * the terminal type request with VT220 and wait for the first prompt.
+	 */
+	private void _handleTelnetCommand(ByteArrayOutputStream telnetCommand) {
+		byte[] bytes = telnetCommand.toByteArray();
+
+		telnetCommand.reset();
+
+		if (_connectFuture.isDone()) {
+			return;
+		}
+
+		if ((bytes.length == 3) && (++_handshakeCommands == 4)) {
+
+			// 255(IAC),251(WILL),24(terminal type)
+
+			_write(new byte[] {(byte)255, (byte)251, 24});
+		}
+		else if ((bytes.length > 3) && ((bytes[1] & 0xFF) == 250)) {
+
+			// 255(IAC),250(SB),24,0,'V','T','2','2','0',255(IAC),240(SE)
+
+			_write(new byte[] {(byte)255, (byte)250, 24, 0, 'V', 'T', '2', '2', '0', (byte)255, (byte)240});
+		}
+	}
+
+	private void _handleData(int c) {
+		if (!_connectFuture.isDone()) {
+			if (_gogoResponseDecoder.write(c)) {
+				_connectFuture.complete(this);
+			}
+
+			return;
+		}
+
+		Request request = _requests.peek();
+
+		if (request == null) {
+			return;
+		}
+
+		if (!request.started) {
+			request.started = true;
+
+			if (request.lineConsumer == null) {
+				_gogoResponseDecoder.reset(null);
+			}
+			else {
+				_gogoResponseDecoder.reset(request::acceptLine);
+			}
+		}
+
+		if (_gogoResponseDecoder.write(c)) {
+			_requests.poll();
+
+			if (request.lineConsumerException != null) {
+				request.future.completeExceptionally(request.lineConsumerException);
+			}
+			else {
+				request.future.complete(_gogoResponseDecoder.getOutput());
+			}
+		}
+	}
+
+	private void _read() throws IOException {
+		_readBuffer.clear();
+
+		int count = _socketChannel.read(_readBuffer);
+
+		if (count < 0) {
+			throw new EOFException("Gogo shell closed the connection");
+		}
+
+		_lastActivityTime = System.currentTimeMillis();
+
+		_readBuffer.flip();
+
+		while (_readBuffer.hasRemaining()) {
+			int c = _readBuffer.get() & 0xFF;
+
+			switch (_telnetState) {
+				case _TELNET_DATA:
+					if (c == 255) {
+						_telnetCommand.write(c);
+
+						_telnetState = _TELNET_IAC;
+					}
+					else {
+						_handleData(c);
+					}
+
+					break;
+				case _TELNET_IAC:
+					_telnetCommand.write(c);
+
+					if (c == 250) {
+						_telnetState = _TELNET_SUBNEGOTIATION;
+					}
+					else if ((c >= 251) && (c <= 254)) {
+						_telnetState = _TELNET_OPTION;
+					}
+					else {
+						_handleTelnetCommand(_telnetCommand);
+
+						_telnetState = _TELNET_DATA;
+					}
+
+					break;
+				case _TELNET_OPTION:
+					_telnetCommand.write(c);
+
+					_handleTelnetCommand(_telnetCommand);
+
+					_telnetState = _TELNET_DATA;
+
+					break;
+				case _TELNET_SUBNEGOTIATION:
+					_telnetCommand.write(c);
+
+					if (c == 240) {
+						_handleTelnetCommand(_telnetCommand);
+
+						_telnetState = _TELNET_DATA;
+					}
+
+					break;
+			}
+		}
+	}
+
+	private void _write(byte[] bytes) {
+		_writeQueue.add(ByteBuffer.wrap(bytes));
+
+		if ((_selectionKey == null) || !_selectionKey.isValid()) {
+			return;
+		}
+
+		if (_socketChannel.isConnected()) {
+			try {
+				_flush();
+			}
+			catch (IOException ioException) {
+				_close(ioException);
+			}
+		}
+	}
+
+	private static final int _TELNET_DATA = 0;
+
+	private static final int _TELNET_IAC = 1;
+
+	private static final int _TELNET_OPTION = 2;
+
+	private static final int _TELNET_SUBNEGOTIATION = 3;
+
+	private final Charset _charset;
+	private volatile boolean _closed;
+	private final CompletableFuture<GogoChannelClient> _connectFuture = new CompletableFuture<>();
+	private long _connectStartTime = System.currentTimeMillis();
+	private final long _connectTimeout;
+	private final GogoResponseDecoder _gogoResponseDecoder;
+	private GogoSelectorThread _gogoSelectorThread;
+	private int _handshakeCommands;
+	private long _lastActivityTime;
+	private final ByteBuffer _readBuffer = ByteBuffer.allocate(8192);
+	private final long _readTimeout;
+	private final Queue<Request> _requests = new ArrayDeque<>();
+	private SelectionKey _selectionKey;
+	private SocketChannel _socketChannel;
+	private final ByteArrayOutputStream _telnetCommand = new ByteArrayOutputStream();
+	private int _telnetState = _TELNET_DATA;
+	private final Queue<ByteBuffer> _writeQueue = new ArrayDeque<>();
+
+	private static class Request {
+
+		public Request(Consumer<String> lineConsumer) {
+			this.lineConsumer = lineConsumer;
+		}
+
+		/**
+		 * Keeps a failing line consumer from interrupting the read, the rest
+		 * of the response is still consumed so the following responses stay
+		 * in step, and the future fails once the response is complete.
+		 */
+		public void acceptLine(String line) {
+			if (lineConsumerException != null) {
+				return;
+			}
+
+			try {
+				lineConsumer.accept(line);
+			}
+			catch (RuntimeException runtimeException) {
+				lineConsumerException = runtimeException;
+			}
+		}
+
+		public final CompletableFuture<String> future = new CompletableFuture<>();
+		public final Consumer<String> lineConsumer;
+		public RuntimeException lineConsumerException;
+		public boolean started;
+
+	}
+
+}
@@ -0,0 +1,125 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import java.io.ByteArrayOutputStream;
+
+import java.nio.charset.Charset;
+
+import java.util.function.Consumer;
+
+/**
+ * Collects the bytes of one Gogo shell response, matching the "g! " prompt
+ * incrementally so that the output is never copied or decoded more than once.
+ *
+ * @author agent
+ */
+public class GogoResponseDecoder {
+
+	public GogoResponseDecoder(Charset charset) {
+		_charset = charset;
+	}
+
+	/**
+	 * Flushes a partially matched prompt and any pending line, for responses
+	 * that end without a prompt because the connection was closed.
+	 */
+	public void finish() {
+		if (_matched > 0) {
+			_outputBuffer.write(_PROMPT, 0, _matched);
+
+			_matched = 0;
+		}
+
+		if ((_lineConsumer != null) && (_outputBuffer.size() > 0)) {
+			_writeLine();
+		}
+	}
+
+	/**
+	 * @return the trimmed output, or null when the output was streamed to a
+	 *         line consumer
+	 */
+	public String getOutput() {
+		if (_lineConsumer != null) {
+			return null;
+		}
+
+		String output = _outputBuffer.toString(_charset);
+
+		return output.trim();
+	}
+
+	/**
+	 * @param lineConsumer receives each output line as soon as it is complete,
+	 *        or null to collect the whole output instead
+	 */
+	public void reset(Consumer<String> lineConsumer) {
+		_lineConsumer = lineConsumer;
+		_matched = 0;
+
+		_outputBuffer.reset();
+	}
+
+	/**
+	 * @return true once the byte completes the prompt that ends the response
+	 */
+	public boolean write(int c) {
+		if (c == _PROMPT[_matched]) {
+			_matched++;
+
+			if (_matched == _PROMPT.length) {
+				_matched = 0;
+
+				if ((_lineConsumer != null) && (_outputBuffer.size() > 0)) {
+					_writeLine();
+				}
+
+				return true;
+			}
+
+			return false;
+		}
+
+		if (_matched > 0) {
+			_outputBuffer.write(_PROMPT, 0, _matched);
+
+			_matched = 0;
+		}
+
+		if (c == _PROMPT[0]) {
+			_matched = 1;
+		}
+		else if ((c == '\n') && (_lineConsumer != null)) {
+			_writeLine();
+		}
+		else {
+			_outputBuffer.write(c);
+		}
+
+		return false;
+	}
+
+	private void _writeLine() {
+		String line = _outputBuffer.toString(_charset);
+
+		_outputBuffer.reset();
+
+		if (line.endsWith("\r")) {
+			line = line.substring(0, line.length() - 1);
+		}
+
+		_lineConsumer.accept(line);
+	}
+
+	private static final byte[] _PROMPT = {'g', '!', ' '};
+
+	private final Charset _charset;
+	private Consumer<String> _lineConsumer;
+	private int _matched;
+	private final ByteArrayOutputStream _outputBuffer = new ByteArrayOutputStream();
+
+}
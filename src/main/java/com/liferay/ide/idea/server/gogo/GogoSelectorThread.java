@@ -0,0 +1,121 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.IOException;
+
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Single daemon thread that performs the socket I/O of every
+ * {@link GogoChannelClient}, so any number of Gogo connections and in flight
+ * commands only cost one thread.
+ *
+ * @author agent
+ */
+public class GogoSelectorThread extends Thread {
+
+	public static synchronized GogoSelectorThread getInstance() throws IOException {
+		if ((_gogoSelectorThread == null) || !_gogoSelectorThread.isAlive()) {
+			_gogoSelectorThread = new GogoSelectorThread();
+
+			_gogoSelectorThread.start();
+		}
+
+		return _gogoSelectorThread;
+	}
+
+	public void execute(Runnable runnable) {
+		_tasks.add(runnable);
+
+		_selector.wakeup();
+	}
+
+	@Override
+	public void run() {
+		while (true) {
+			try {
+				if (_selector.keys().isEmpty() && _tasks.isEmpty()) {
+					_selector.select();
+				}
+				else {
+					_selector.select(_DEADLINE_CHECK_INTERVAL);
+				}
+
+				Runnable runnable = _tasks.poll();
+
+				while (runnable != null) {
+					try {
+						runnable.run();
+					}
+					catch (RuntimeException runtimeException) {
+						_log.warn("Unexpected Gogo shell task failure", runtimeException);
+					}
+
+					runnable = _tasks.poll();
+				}
+
+				Iterator<SelectionKey> iterator = _selector.selectedKeys().iterator();
+
+				while (iterator.hasNext()) {
+					SelectionKey selectionKey = iterator.next();
+
+					iterator.remove();
+
+					GogoChannelClient gogoChannelClient = (GogoChannelClient)selectionKey.attachment();
+
+					gogoChannelClient.handle(selectionKey);
+				}
+
+				long now = System.currentTimeMillis();
+
+				List<SelectionKey> selectionKeys = new ArrayList<>(_selector.keys());
+
+				for (SelectionKey selectionKey : selectionKeys) {
+					GogoChannelClient gogoChannelClient = (GogoChannelClient)selectionKey.attachment();
+
+					if (gogoChannelClient != null) {
+						gogoChannelClient.checkDeadlines(now);
+					}
+				}
+			}
+			catch (Exception exception) {
+				_log.warn("Unexpected Gogo shell I/O failure", exception);
+			}
+		}
+	}
+
+	protected Selector getSelector() {
+		return _selector;
+	}
+
+	private GogoSelectorThread() throws IOException {
+		super("Liferay Gogo Shell Selector");
+
+		setDaemon(true);
+
+		_selector = Selector.open();
+	}
+
+	private static final long _DEADLINE_CHECK_INTERVAL = 250;
+
+	private static final Logger _log = Logger.getInstance(GogoSelectorThread.class);
+
+	private static GogoSelectorThread _gogoSelectorThread;
+
+	private final Selector _selector;
+	private final Queue<Runnable> _tasks = new ConcurrentLinkedQueue<>();
+
+}
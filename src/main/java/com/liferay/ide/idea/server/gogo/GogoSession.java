@@ -0,0 +1,191 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A long lived connection to the Gogo shell of one Liferay server. Requests
+ * from concurrent callers are pipelined on the connection without holding a
+ * thread each. A broken connection is reopened on the next request, waiting
+ * longer after each failed attempt so that a stopped server is not hammered
+ * with connects.
+ *
+ * @author agent
+ */
+public class GogoSession implements AutoCloseable {
+
+	public GogoSession(String host, int port) {
+		this(host, port, GogoTelnetClient.DEFAULT_CONNECT_TIMEOUT, GogoTelnetClient.DEFAULT_READ_TIMEOUT);
+	}
+
+	public GogoSession(String host, int port, long connectTimeout, long readTimeout) {
+		_host = host;
+		_port = port;
+		_connectTimeout = connectTimeout;
+		_readTimeout = readTimeout;
+	}
+
+	@Override
+	public void close() {
+		CompletableFuture<GogoChannelClient> clientFuture;
+
+		synchronized (this) {
+			_closed = true;
+
+			clientFuture = _clientFuture;
+
+			_clientFuture = null;
+		}
+
+		if (clientFuture != null) {
+			clientFuture.thenAccept(GogoChannelClient::close);
+		}
+	}
+
+	public String getHost() {
+		return _host;
+	}
+
+	public int getPort() {
+		return _port;
+	}
+
+	public boolean isConnected() {
+		CompletableFuture<GogoChannelClient> clientFuture = _clientFuture;
+
+		if ((clientFuture == null) || !clientFuture.isDone() || clientFuture.isCompletedExceptionally()) {
+			return false;
+		}
+
+		GogoChannelClient gogoChannelClient = clientFuture.join();
+
+		return gogoChannelClient.isOpen();
+	}
+
+	public String send(String command) throws IOException {
+		return _get(sendAsync(command));
+	}
+
+	public void send(String command, Consumer<String> lineConsumer) throws IOException {
+		_get(_execute(gogoChannelClient -> gogoChannelClient.send(command, lineConsumer)));
+	}
+
+	public List<String> send(List<String> commands) throws IOException {
+		return _get(_execute(gogoChannelClient -> gogoChannelClient.send(commands)));
+	}
+
+	/**
+	 * The returned future completes on the Gogo shell selector thread, see
+	 * {@link GogoChannelClient}.
+	 */
+	public CompletableFuture<String> sendAsync(String command) {
+		return _execute(gogoChannelClient -> gogoChannelClient.send(command));
+	}
+
+	private <T> CompletableFuture<T> _execute(Function<GogoChannelClient, CompletableFuture<T>> function) {
+		CompletableFuture<GogoChannelClient> clientFuture;
+
+		try {
+			clientFuture = _getClient();
+		}
+		catch (IOException ioException) {
+			return CompletableFuture.failedFuture(ioException);
+		}
+
+		return clientFuture.thenCompose(function);
+	}
+
+	private <T> T _get(CompletableFuture<T> future) throws IOException {
+		try {
+			return future.get();
+		}
+		catch (ExecutionException executionException) {
+			Throwable cause = executionException.getCause();
+
+			while ((cause instanceof CompletionException) && (cause.getCause() != null)) {
+				cause = cause.getCause();
+			}
+
+			if (cause instanceof IOException) {
+				throw (IOException)cause;
+			}
+
+			throw new IOException(cause);
+		}
+		catch (InterruptedException interruptedException) {
+			Thread currentThread = Thread.currentThread();
+
+			currentThread.interrupt();
+
+			throw new IOException(interruptedException);
+		}
+	}
+
+	private synchronized CompletableFuture<GogoChannelClient> _getClient() throws IOException {
+		if (_closed) {
+			throw new IOException("Gogo shell session " + _host + ":" + _port + " is closed");
+		}
+
+		if (_clientFuture != null) {
+			if (!_clientFuture.isDone()) {
+				return _clientFuture;
+			}
+
+			if (!_clientFuture.isCompletedExceptionally()) {
+				GogoChannelClient gogoChannelClient = _clientFuture.join();
+
+				if (gogoChannelClient.isOpen()) {
+					_backoff = 0;
+					_nextConnectTime = 0;
+
+					return _clientFuture;
+				}
+			}
+			else {
+				_backoff = Math.min(Math.max(_backoff * 2, _INITIAL_BACKOFF), _MAX_BACKOFF);
+				_nextConnectTime = System.currentTimeMillis() + _backoff;
+			}
+
+			_clientFuture = null;
+		}
+
+		long now = System.currentTimeMillis();
+
+		if (now < _nextConnectTime) {
+			throw new IOException(
+				"Gogo shell " + _host + ":" + _port + " is unavailable, retrying in " + (_nextConnectTime - now) +
+					" ms");
+		}
+
+		_clientFuture = GogoChannelClient.connect(_host, _port, StandardCharsets.UTF_8, _connectTimeout, _readTimeout);
+
+		return _clientFuture;
+	}
+
+	private static final long _INITIAL_BACKOFF = 500;
+
+	private static final long _MAX_BACKOFF = 30000;
+
+	private long _backoff;
+	private volatile CompletableFuture<GogoChannelClient> _clientFuture;
+	private boolean _closed;
+	private final long _connectTimeout;
+	private final String _host;
+	private long _nextConnectTime;
+	private final int _port;
+	private final long _readTimeout;
+
+}
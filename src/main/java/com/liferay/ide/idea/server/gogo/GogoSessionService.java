@@ -0,0 +1,144 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.util.messages.MessageBus;
+import com.intellij.util.messages.MessageBusConnection;
+
+import com.liferay.ide.idea.util.CoreUtil;
+import com.liferay.ide.idea.util.LiferayWorkspaceSupport;
+import com.liferay.ide.idea.util.ServerUtil;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author agent
+ */
+public class GogoSessionService implements Disposable {
+
+	public static GogoSessionService getInstance(@NotNull Project project) {
+		return project.getService(GogoSessionService.class);
+	}
+
+	public GogoSessionService(@NotNull Project project) {
+		_project = project;
+
+		MessageBus messageBus = project.getMessageBus();
+
+		MessageBusConnection messageBusConnection = messageBus.connect(this);
+
+		messageBusConnection.subscribe(
+			VirtualFileManager.VFS_CHANGES,
+			new BulkFileListener() {
+
+				@Override
+				public void after(@NotNull List<? extends VFileEvent> events) {
+					for (VFileEvent event : events) {
+						String path = event.getPath();
+
+						String fileName = path.substring(path.lastIndexOf('/') + 1);
+
+						if (_portalPropertiesFileNames.contains(fileName)) {
+							_invalidate();
+
+							return;
+						}
+					}
+				}
+
+			});
+	}
+
+	@Override
+	public void dispose() {
+		_invalidate();
+	}
+
+	public int getGogoShellPort(@Nullable String bundleLocation) {
+		if (CoreUtil.isNullOrEmpty(bundleLocation)) {
+			return _DEFAULT_GOGO_SHELL_PORT;
+		}
+
+		return _gogoShellPorts.computeIfAbsent(
+			bundleLocation,
+			key -> {
+				try {
+					return Integer.parseInt(ServerUtil.getGogoShellPort(key));
+				}
+				catch (NumberFormatException numberFormatException) {
+					return _DEFAULT_GOGO_SHELL_PORT;
+				}
+			});
+	}
+
+	/**
+	 * @return the session of the server in the workspace home directory
+	 */
+	@NotNull
+	public GogoSession getSession() {
+		return getSession(_getWorkspaceBundleLocation());
+	}
+
+	@NotNull
+	public GogoSession getSession(@Nullable String bundleLocation) {
+		int gogoShellPort = getGogoShellPort(bundleLocation);
+
+		return _sessions.computeIfAbsent(gogoShellPort, port -> new GogoSession("localhost", port));
+	}
+
+	private String _getWorkspaceBundleLocation() {
+		String homeDir = LiferayWorkspaceSupport.getHomeDir(_project);
+
+		if (homeDir == null) {
+			return null;
+		}
+
+		Path bundlePath = Paths.get(homeDir);
+
+		if (!bundlePath.isAbsolute() && (_project.getBasePath() != null)) {
+			bundlePath = Paths.get(_project.getBasePath(), homeDir);
+		}
+
+		return bundlePath.toString();
+	}
+
+	private void _invalidate() {
+		_gogoShellPorts.clear();
+
+		List<GogoSession> gogoSessions = new ArrayList<>(_sessions.values());
+
+		_sessions.clear();
+
+		for (GogoSession gogoSession : gogoSessions) {
+			gogoSession.close();
+		}
+	}
+
+	private static final int _DEFAULT_GOGO_SHELL_PORT = 11311;
+
+	private static final List<String> _portalPropertiesFileNames = Arrays.asList(
+		"portal-developer.properties", "portal-ext.properties", "portal-setup-wizard.properties");
+
+	private final Map<String, Integer> _gogoShellPorts = new ConcurrentHashMap<>();
+	private final Project _project;
+	private final Map<Integer, GogoSession> _sessions = new ConcurrentHashMap<>();
+
+}
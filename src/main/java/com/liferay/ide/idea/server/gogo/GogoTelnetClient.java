@@ -5,31 +5,72 @@
 
 package com.liferay.ide.idea.server.gogo;
 
-import java.io.DataInputStream;
+import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
+import java.net.InetSocketAddress;
 import java.net.Socket;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Gregory Amerson
  */
 public class GogoTelnetClient implements AutoCloseable {
 
+	public static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+
+	public static final int DEFAULT_READ_TIMEOUT = 60000;
+
 	public GogoTelnetClient() throws IOException {
 		this("localhost", 11311);
 	}
 
 	public GogoTelnetClient(String host, int port) throws IOException {
-		_socket = new Socket(host, port);
+		this(host, port, StandardCharsets.UTF_8);
+	}
+
+	public GogoTelnetClient(String host, int port, Charset charset) throws IOException {
+		this(host, port, charset, DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+	}
+
+	/**
+	 * @param connectTimeout milliseconds to wait for the connection
+	 * @param readTimeout milliseconds a read may block without receiving any
+	 *        data before a SocketTimeoutException is thrown
+	 */
+	public GogoTelnetClient(String host, int port, Charset charset, int connectTimeout, int readTimeout)
+		throws IOException {
+
+		_charset = charset;
+
+		_gogoResponseDecoder = new GogoResponseDecoder(charset);
 
-		_inputStream = new DataInputStream(_socket.getInputStream());
-		_outputStream = new DataOutputStream(_socket.getOutputStream());
+		_socket = new Socket();
 
-		_handshake();
+		try {
+			_socket.connect(new InetSocketAddress(host, port), connectTimeout);
+
+			_socket.setSoTimeout(readTimeout);
+
+			_inputStream = _socket.getInputStream();
+			_outputStream = new DataOutputStream(new BufferedOutputStream(_socket.getOutputStream()));
+
+			_handshake();
+		}
+		catch (IOException ioException) {
+			_socket.close();
+
+			throw ioException;
+		}
 	}
 
 	public void close() {
@@ -43,20 +84,42 @@ public class GogoTelnetClient implements AutoCloseable {
 	}
 
 	public String send(String command) throws IOException {
-		byte[] bytes = command.getBytes();
+		_writeCommands(Collections.singletonList(command));
 
-		int[] codes = new int[bytes.length + 2];
+		return _readUntilNextGogoPrompt(null);
+	}
+
+	/**
+	 * Streams the output of the command line by line instead of collecting it,
+	 * which keeps memory flat for commands with very large outputs.
+	 */
+	public void send(String command, Consumer<String> lineConsumer) throws IOException {
+		_writeCommands(Collections.singletonList(command));
 
-		for (int i = 0; i < bytes.length; i++) {
-			codes[i] = bytes[i];
+		_readUntilNextGogoPrompt(lineConsumer);
+	}
+
+	/**
+	 * Writes all commands in a single flush and then reads one prompt per
+	 * command, so the shell can work through the whole batch without waiting
+	 * for a round trip after each command.
+	 *
+	 * @return the output of each command, in the order of the commands
+	 */
+	public List<String> send(List<String> commands) throws IOException {
+		if (commands.isEmpty()) {
+			return new ArrayList<>();
 		}
 
-		codes[bytes.length] = '\r';
-		codes[bytes.length + 1] = '\n';
+		_writeCommands(commands);
 
-		_sendCommand(codes);
+		List<String> outputs = new ArrayList<>(commands.size());
 
-		return _readUntilNextGogoPrompt();
+		for (int i = 0; i < commands.size(); i++) {
+			outputs.add(_readUntilNextGogoPrompt(null));
+		}
+
+		return outputs;
 	}
 
 	private void _assertCond(boolean condition) {
@@ -91,19 +154,19 @@ public class GogoTelnetClient implements AutoCloseable {
 
 		// read gogo shell prompt
 
-		_readUntilNextGogoPrompt();
+		_readUntilNextGogoPrompt(null);
 	}
 
 	private int[] _readOneCommand() throws IOException {
 		List<Integer> bytes = new ArrayList<>();
 
-		int iac = _inputStream.read();
+		int iac = _read();
 
 		_assertCond(iac == 255);
 
 		bytes.add(iac);
 
-		int second = _inputStream.read();
+		int second = _read();
 
 		bytes.add(second);
 
@@ -111,13 +174,13 @@ public class GogoTelnetClient implements AutoCloseable {
 
 			// SB
 
-			int option = _inputStream.read();
+			int option = _read();
 
 			bytes.add(option);
 
 			// 1 or 0
 
-			int code = _inputStream.read();
+			int code = _read();
 
 			_assertCond((code == 0) || (code == 1));
 
@@ -127,7 +190,7 @@ public class GogoTelnetClient implements AutoCloseable {
 				throw new IllegalStateException();
 			}
 			else if (code == 1) {
-				iac = _inputStream.read();
+				iac = _read();
 
 				_assertCond(iac == 255);
 
@@ -135,7 +198,7 @@ public class GogoTelnetClient implements AutoCloseable {
 
 				// SE
 
-				int se = _inputStream.read();
+				int se = _read();
 
 				_assertCond(se == 240);
 
@@ -143,38 +206,56 @@ public class GogoTelnetClient implements AutoCloseable {
 			}
 		}
 		else {
-			bytes.add(_inputStream.read());
+			bytes.add(_read());
 		}
 
 		return _toIntArray(bytes);
 	}
 
-	private String _readUntilNextGogoPrompt() throws IOException {
-		StringBuilder sb = new StringBuilder();
+	private int _read() throws IOException {
+		if (_bufferPosition == _bufferLimit) {
+			_bufferLimit = _inputStream.read(_buffer);
+			_bufferPosition = 0;
 
-		int c = _inputStream.read();
+			if (_bufferLimit <= 0) {
+				_bufferLimit = 0;
 
-		while (c != -1) {
-			sb.append((char)c);
+				return -1;
+			}
+		}
 
-			String str = sb.toString();
+		return _buffer[_bufferPosition++] & 0xFF;
+	}
+
+	/**
+	 * @param lineConsumer receives each output line as soon as it is complete,
+	 *        or null to collect the whole output instead
+	 * @return the trimmed output, or null when streamed to lineConsumer
+	 */
+	private String _readUntilNextGogoPrompt(Consumer<String> lineConsumer) throws IOException {
+		_gogoResponseDecoder.reset(lineConsumer);
+
+		int c = _read();
 
-			if (str.endsWith("g! ")) {
-				break;
+		while (c != -1) {
+			if (_gogoResponseDecoder.write(c)) {
+				return _gogoResponseDecoder.getOutput();
 			}
 
-			c = _inputStream.read();
+			c = _read();
 		}
 
-		String output = sb.substring(0, sb.length() - 3);
+		_gogoResponseDecoder.finish();
 
-		return output.trim();
+		return _gogoResponseDecoder.getOutput();
 	}
 
 	private void _sendCommand(int... codes) throws IOException {
 		for (int code : codes) {
 			_outputStream.write(code);
 		}
+
+		_outputStream.flush();
 	}
 
 	private int[] _toIntArray(List<Integer> list) {
@@ -188,7 +269,22 @@ public class GogoTelnetClient implements AutoCloseable {
 		return ret;
 	}
 
-	private final DataInputStream _inputStream;
+	private void _writeCommands(List<String> commands) throws IOException {
+		for (String command : commands) {
+			_outputStream.write(command.getBytes(_charset));
+			_outputStream.write('\r');
+			_outputStream.write('\n');
+		}
+
+		_outputStream.flush();
+	}
+
+	private final byte[] _buffer = new byte[8192];
+	private int _bufferLimit;
+	private int _bufferPosition;
+	private final Charset _charset;
+	private final GogoResponseDecoder _gogoResponseDecoder;
+	private final InputStream _inputStream;
 	private final DataOutputStream _outputStream;
 	private final Socket _socket;
 
@@ -38,6 +38,11 @@ public abstract class AbstractPortalBundle implements PortalBundle {
 		return liferayHome;
 	}
 
+	@Override
+	public Path getModulesPath() {
+		return FileUtil.pathAppend(modulesPath, "modules");
+	}
+
 	protected Path autoDeployPath;
 	protected Path bundlePath;
 	protected Path liferayHome;
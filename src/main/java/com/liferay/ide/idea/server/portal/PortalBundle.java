@@ -22,6 +22,11 @@ public interface PortalBundle {
 
 	public String getMainClass();
 
+	/**
+	 * @return the osgi/modules directory that deployed bundles are copied to
+	 */
+	public Path getModulesPath();
+
 	public Path[] getRuntimeClasspath();
 
 	public String[] getRuntimeStartProgArgs();
@@ -0,0 +1,302 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.portal;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.messages.MessageBus;
+import com.intellij.util.messages.MessageBusConnection;
+
+import com.liferay.ide.idea.util.FileUtil;
+
+import java.io.File;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Remembers the portal bundle detected for a bundle path, including paths
+ * where no bundle was found, until one of the directories the bundle
+ * factories look for is created, deleted or renamed. Those are the bundle path
+ * and its parents, the directories directly in it, like osgi or the app
+ * server directory, and the app server markers in those, like bin or conf.
+ * Other changes, like bundles copied into osgi/modules or logs being written,
+ * keep the entry.
+ *
+ * <p>
+ * The bundle path and the directories in it are watched by the local file
+ * system without recursion, so changes made outside the IDE, like a bundle
+ * being initialized by Gradle, are seen too.
+ * </p>
+ *
+ * @author agent
+ */
+public class PortalBundleRegistry implements Disposable {
+
+	public static PortalBundleRegistry getInstance() {
+		Application application = ApplicationManager.getApplication();
+
+		return application.getService(PortalBundleRegistry.class);
+	}
+
+	public PortalBundleRegistry() {
+		Application application = ApplicationManager.getApplication();
+
+		MessageBus messageBus = application.getMessageBus();
+
+		MessageBusConnection messageBusConnection = messageBus.connect(this);
+
+		messageBusConnection.subscribe(
+			VirtualFileManager.VFS_CHANGES,
+			new BulkFileListener() {
+
+				@Override
+				public void after(@NotNull List<? extends VFileEvent> events) {
+					for (VFileEvent event : events) {
+						if (event instanceof VFileMoveEvent) {
+							VFileMoveEvent moveEvent = (VFileMoveEvent)event;
+
+							_invalidate(moveEvent.getOldPath());
+						}
+						else if (event instanceof VFilePropertyChangeEvent) {
+							VFilePropertyChangeEvent propertyChangeEvent = (VFilePropertyChangeEvent)event;
+
+							if (!propertyChangeEvent.isRename()) {
+								continue;
+							}
+
+							_invalidate(propertyChangeEvent.getOldPath());
+						}
+						else if (!(event instanceof VFileCreateEvent) && !(event instanceof VFileCopyEvent) &&
+							!(event instanceof VFileDeleteEvent)) {
+
+							// Content changes never change what is detected
+
+							continue;
+						}
+
+						_invalidate(event.getPath());
+					}
+				}
+
+			});
+	}
+
+	@Override
+	public void dispose() {
+		_entries.clear();
+
+		LocalFileSystem localFileSystem = LocalFileSystem.getInstance();
+
+		for (Set<LocalFileSystem.WatchRequest> watchRequests : _watchRequests.values()) {
+			localFileSystem.removeWatchedRoots(watchRequests);
+		}
+
+		_watchRequests.clear();
+	}
+
+	/**
+	 * @param detector finds the bundle of a path, only invoked when the path
+	 *        is unknown or has changed since it was last detected
+	 */
+	@Nullable
+	public PortalBundle getPortalBundle(@Nullable Path bundlePath, @NotNull Function<Path, PortalBundle> detector) {
+		if (bundlePath == null) {
+			return null;
+		}
+
+		Path key = bundlePath.toAbsolutePath();
+
+		key = key.normalize();
+
+		Entry entry = _entries.get(key);
+
+		if (entry != null) {
+			return entry.portalBundle;
+		}
+
+		_watch(key);
+
+		long modificationCount = _modificationCount;
+
+		PortalBundle portalBundle = detector.apply(key);
+
+		if (modificationCount == _modificationCount) {
+			_entries.put(key, new Entry(portalBundle));
+		}
+
+		return portalBundle;
+	}
+
+	private void _invalidate(@Nullable String path) {
+		if (path == null) {
+			return;
+		}
+
+		Path changedPath;
+
+		try {
+			changedPath = Paths.get(path);
+		}
+		catch (InvalidPathException invalidPathException) {
+			return;
+		}
+
+		boolean changed = false;
+
+		for (Path key : _watchRequests.keySet()) {
+			if (_isMarker(key, changedPath)) {
+				changed = true;
+
+				_entries.remove(key);
+
+				_unwatch(key);
+			}
+		}
+
+		if (changed) {
+			_modificationCount++;
+		}
+	}
+
+	/**
+	 * @return whether creating, deleting or renaming the path can change the
+	 *         bundle detected for the key
+	 */
+	private boolean _isMarker(Path key, Path path) {
+		if (key.startsWith(path)) {
+			return true;
+		}
+
+		Path parentPath = path.getParent();
+
+		if (parentPath == null) {
+			return false;
+		}
+
+		if (parentPath.equals(key)) {
+			return true;
+		}
+
+		Path fileName = path.getFileName();
+
+		if (!_markerNames.contains(fileName.toString())) {
+			return false;
+		}
+
+		// An app server marker in a directory of the bundle, or the osgi
+		// directory next to the bundle path when it is the app server
+		// directory
+
+		if (key.equals(parentPath.getParent()) || parentPath.equals(key.getParent())) {
+			return true;
+		}
+
+		return false;
+	}
+
+	private void _unwatch(Path key) {
+		Set<LocalFileSystem.WatchRequest> watchRequests = _watchRequests.remove(key);
+
+		if ((watchRequests != null) && !watchRequests.isEmpty()) {
+			LocalFileSystem localFileSystem = LocalFileSystem.getInstance();
+
+			localFileSystem.removeWatchedRoots(watchRequests);
+		}
+	}
+
+	private void _watch(Path key) {
+		if (_watchRequests.containsKey(key)) {
+			return;
+		}
+
+		List<Path> watchPaths = new ArrayList<>();
+
+		if (FileUtil.exists(key)) {
+			watchPaths.add(key);
+
+			File[] directories = FileUtil.getDirectories(key.toFile());
+
+			if (directories != null) {
+				for (File directory : directories) {
+					watchPaths.add(directory.toPath());
+				}
+			}
+		}
+		else {
+
+			// Only the creation of the bundle path matters until it exists
+
+			Path parentPath = key.getParent();
+
+			if ((parentPath != null) && FileUtil.exists(parentPath)) {
+				watchPaths.add(parentPath);
+			}
+		}
+
+		List<String> flatRoots = new ArrayList<>();
+
+		for (Path watchPath : watchPaths) {
+			flatRoots.add(watchPath.toString());
+		}
+
+		LocalFileSystem localFileSystem = LocalFileSystem.getInstance();
+
+		Set<LocalFileSystem.WatchRequest> watchRequests = localFileSystem.addRootsToWatch(flatRoots, false);
+
+		if (_watchRequests.putIfAbsent(key, watchRequests) != null) {
+			localFileSystem.removeWatchedRoots(watchRequests);
+
+			return;
+		}
+
+		// Load the directories into the VFS so that changes to them raise
+		// events
+
+		localFileSystem.refreshNioFiles(watchPaths, true, false, null);
+	}
+
+	private static final Set<String> _markerNames = new HashSet<>(
+		Arrays.asList("bin", "bundles", "conf", "lib", "modules", "osgi", "standalone", "webapps"));
+
+	private final Map<Path, Entry> _entries = new ConcurrentHashMap<>();
+	private volatile long _modificationCount;
+	private final Map<Path, Set<LocalFileSystem.WatchRequest>> _watchRequests = new ConcurrentHashMap<>();
+
+	private static class Entry {
+
+		public Entry(PortalBundle portalBundle) {
+			this.portalBundle = portalBundle;
+		}
+
+		public final PortalBundle portalBundle;
+
+	}
+
+}
@@ -8,20 +8,20 @@ package com.liferay.ide.idea.server.portal;
 import com.intellij.openapi.projectRoots.Sdk;
 import com.intellij.util.lang.JavaVersion;
 
+import com.liferay.ide.idea.util.FileListing;
 import com.liferay.ide.idea.util.FileUtil;
-import com.liferay.ide.idea.util.ListUtil;
 
 import java.io.File;
 import java.io.FileFilter;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-
-import org.apache.commons.io.FileUtils;
+import java.util.stream.Stream;
 
 import org.jetbrains.jps.model.java.JdkVersionDetector;
 
@@ -189,15 +189,20 @@ public class PortalJBossBundle extends AbstractPortalBundle {
 	protected File getJbossLib(Path bundlePath, String libPathValue) {
 		Path libIPath = FileUtil.pathAppend(bundlePath, libPathValue);
 
-		Collection<File> libJars = FileUtils.listFiles(libIPath.toFile(), new String[] {"jar"}, true);
-
-		File[] jarArray = libJars.toArray(new File[0]);
+		try (Stream<Path> paths = FileListing.walk(libIPath, Collections.emptyList())) {
+			return paths.filter(
+				path -> {
+					String fileName = String.valueOf(path.getFileName());
 
-		if (ListUtil.isNotEmpty(jarArray)) {
-			return jarArray[0];
+					return fileName.endsWith(".jar") && Files.isRegularFile(path);
+				}
+			).map(
+				Path::toFile
+			).findFirst(
+			).orElse(
+				null
+			);
 		}
-
-		return null;
 	}
 
 }
\ No newline at end of file
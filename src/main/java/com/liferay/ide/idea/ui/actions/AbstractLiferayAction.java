@@ -20,7 +20,12 @@ import com.intellij.openapi.actionSystem.Presentation;
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.externalSystem.model.ProjectSystemId;
 import com.intellij.openapi.externalSystem.service.execution.ProgressExecutionMode;
+import com.intellij.openapi.externalSystem.service.notification.ExternalSystemNotificationManager;
+import com.intellij.openapi.externalSystem.service.notification.NotificationCategory;
+import com.intellij.openapi.externalSystem.service.notification.NotificationData;
+import com.intellij.openapi.externalSystem.service.notification.NotificationSource;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.progress.ProgressIndicator;
@@ -35,16 +40,21 @@ import com.intellij.openapi.vfs.VirtualFileVisitor;
 import com.intellij.util.messages.MessageBus;
 import com.intellij.util.messages.MessageBusConnection;
 
+import com.liferay.ide.idea.server.gogo.GogoBundle;
+import com.liferay.ide.idea.server.gogo.GogoBundleStateService;
 import com.liferay.ide.idea.util.FileUtil;
 import com.liferay.ide.idea.util.LiferayWorkspaceSupport;
 import com.liferay.ide.idea.util.ServerUtil;
 
+import java.io.File;
+
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.Icon;
 
@@ -199,6 +209,17 @@ public abstract class AbstractLiferayAction extends AnAction {
 		_refreshProjectView(project);
 	}
 
+	/**
+	 * Called when a process of the project terminates. Actions that start the
+	 * process themselves keep their per-run state on its execution
+	 * environment rather than on the shared action instance.
+	 */
+	protected void handleProcessTerminated(
+		Project project, ExecutionEnvironment executionEnvironment, int exitCode) {
+
+		handleProcessTerminated(project, exitCode);
+	}
+
 	protected boolean isEnabledAndVisible(AnActionEvent anActionEvent) {
 		return true;
 	}
@@ -246,6 +267,62 @@ public abstract class AbstractLiferayAction extends AnAction {
 		return false;
 	}
 
+	/**
+	 * Waits in the background for the bundle of the project directory to
+	 * become active on the workspace server and reports the outcome.
+	 *
+	 * @param deployTime the time the deploy started, in milliseconds
+	 */
+	protected void waitForDeployedBundle(
+		Project project, String projectDir, long deployTime, ProjectSystemId projectSystemId) {
+
+		if (projectDir == null) {
+			return;
+		}
+
+		String bsn = GogoBundleStateService.getBundleSymbolicName(new File(projectDir));
+
+		if (bsn == null) {
+			return;
+		}
+
+		GogoBundleStateService gogoBundleStateService = GogoBundleStateService.getInstance(project);
+
+		CompletableFuture<GogoBundle> future = gogoBundleStateService.waitForState(
+			bsn, GogoBundle.ACTIVE, deployTime, _DEPLOY_TIMEOUT);
+
+		future.thenAccept(
+			gogoBundle -> {
+				if (project.isDisposed()) {
+					return;
+				}
+
+				NotificationData notificationData;
+
+				if (gogoBundle != null) {
+					notificationData = new NotificationData(
+						"<b>Bundle is active</b>", "<i>" + bsn + "</i> (" + gogoBundle.getVersion() + ")",
+						NotificationCategory.INFO, NotificationSource.TASK_EXECUTION);
+				}
+				else {
+					GogoBundle lastBundle = gogoBundleStateService.getBundle(bsn);
+
+					String state = (lastBundle == null) ? "Not installed" : lastBundle.getState();
+
+					notificationData = new NotificationData(
+						"<b>Bundle did not become active</b>", "<i>" + bsn + "</i> " + state,
+						NotificationCategory.WARNING, NotificationSource.TASK_EXECUTION);
+				}
+
+				notificationData.setBalloonNotification(true);
+
+				ExternalSystemNotificationManager externalSystemNotificationManager =
+					ExternalSystemNotificationManager.getInstance(project);
+
+				externalSystemNotificationManager.showNotification(projectSystemId, notificationData);
+			});
+	}
+
 	private void _perform(AnActionEvent anActionEvent, Project project) {
 		RunnerAndConfigurationSettings runnerAndConfigurationSettings = processRunnerConfiguration(anActionEvent);
 
@@ -270,7 +347,7 @@ public abstract class AbstractLiferayAction extends AnAction {
 					@NotNull String executorIdLocal, @NotNull ExecutionEnvironment executionEnvironment,
 					@NotNull ProcessHandler processHandler, int exitCode) {
 
-					handleProcessTerminated(project, exitCode);
+					handleProcessTerminated(project, executionEnvironment, exitCode);
 
 					messageBusConnection.disconnect();
 				}
@@ -284,4 +361,6 @@ public abstract class AbstractLiferayAction extends AnAction {
 		projectView.refresh();
 	}
 
+	private static final long _DEPLOY_TIMEOUT = 60000;
+
 }
\ No newline at end of file
@@ -61,6 +61,16 @@ public abstract class AbstractLiferayGradleTaskAction extends AbstractLiferayAct
 	protected void afterTask(Project project) {
 	}
 
+	/**
+	 * Called when the task succeeded, with the settings it ran with and the
+	 * time it was started in milliseconds. The action instance is shared, so
+	 * anything that belongs to one run is handed over here rather than kept
+	 * in fields.
+	 */
+	protected void afterTask(Project project, ExternalSystemTaskExecutionSettings settings, long startTime) {
+		afterTask(project);
+	}
+
 	protected void beforeTask(Project project) {
 	}
 
@@ -76,8 +86,11 @@ public abstract class AbstractLiferayGradleTaskAction extends AbstractLiferayAct
 
 		beforeTask(project);
 
+		ExternalSystemTaskExecutionSettings settings = externalTaskExecutionInfo.getSettings();
+		long startTime = System.currentTimeMillis();
+
 		ExternalSystemUtil.runTask(
-			externalTaskExecutionInfo.getSettings(), externalTaskExecutionInfo.getExecutorId(), project,
+			settings, externalTaskExecutionInfo.getExecutorId(), project,
 			GradleConstants.SYSTEM_ID,
 			new TaskCallback() {
 
@@ -87,7 +100,7 @@ public abstract class AbstractLiferayGradleTaskAction extends AbstractLiferayAct
 
 				@Override
 				public void onSuccess() {
-					afterTask(project);
+					afterTask(project, settings, startTime);
 				}
 
 			},
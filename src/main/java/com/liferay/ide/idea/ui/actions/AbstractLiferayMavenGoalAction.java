@@ -60,6 +60,8 @@ public abstract class AbstractLiferayMavenGoalAction extends AbstractLiferayActi
 			ExecutionEnvironment executionEnvironment = new ExecutionEnvironment(
 				DefaultRunExecutor.getRunExecutorInstance(), programRunner, runnerAndConfigurationSettings, project);
 
+			beforeExecute(anActionEvent, executionEnvironment);
+
 			programRunner.execute(executionEnvironment);
 		}
 		catch (ExecutionException executionException) {
@@ -67,6 +69,14 @@ public abstract class AbstractLiferayMavenGoalAction extends AbstractLiferayActi
 		}
 	}
 
+	/**
+	 * Lets subclasses store per-run state on the execution environment before
+	 * the goals run, see {@link #handleProcessTerminated(Project,
+	 * ExecutionEnvironment, int)}.
+	 */
+	protected void beforeExecute(AnActionEvent anActionEvent, ExecutionEnvironment executionEnvironment) {
+	}
+
 	@Override
 	protected boolean isEnabledAndVisible(AnActionEvent anActionEvent) {
 		project = anActionEvent.getProject();
@@ -9,6 +9,7 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.module.Module;
 
 import com.liferay.ide.idea.core.LiferayIcons;
+import com.liferay.ide.idea.core.LiferayModuleCapabilityService;
 import com.liferay.ide.idea.util.GradleUtil;
 import com.liferay.ide.idea.util.ListUtil;
 
@@ -55,8 +56,13 @@ public class BuildServiceGradleModuleAction extends AbstractLiferayGradleTaskAct
 	@Override
 	protected boolean isEnabledAndVisible(AnActionEvent anActionEvent) {
 		if (super.isEnabledAndVisible(anActionEvent)) {
+			LiferayModuleCapabilityService liferayModuleCapabilityService = LiferayModuleCapabilityService.getInstance(
+				anActionEvent.getProject());
+
 			_moduleSet = getServiceBuilderModules(anActionEvent);
 
+			_moduleSet.removeIf(module -> !liferayModuleCapabilityService.isServiceBuilder(module));
+
 			return ListUtil.isNotEmpty(_moduleSet);
 		}
 
@@ -28,7 +28,7 @@ import com.intellij.openapi.vfs.VirtualFile;
 
 import com.liferay.ide.idea.util.FileUtil;
 import com.liferay.ide.idea.util.GradleDependency;
-import com.liferay.ide.idea.util.GradleDependencyUpdater;
+import com.liferay.ide.idea.util.GradleDependencyExtractor;
 import com.liferay.ide.idea.util.GradleUtil;
 import com.liferay.ide.idea.util.LiferayWorkspaceSupport;
 
@@ -154,10 +154,10 @@ public class CompareOriginalImplementationAction extends AnAction {
 			virtualFile.exists()) {
 
 			try {
-				GradleDependencyUpdater gradleDependencyUpdater = new GradleDependencyUpdater(
+				GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(
 					VfsUtil.virtualToIoFile(virtualFile));
 
-				List<GradleDependency> originalModules = gradleDependencyUpdater.getDependenciesByName(
+				List<GradleDependency> originalModules = gradleDependencyExtractor.getDependenciesByName(
 					"originalModule");
 
 				if (!originalModules.isEmpty()) {
@@ -6,9 +6,13 @@
 package com.liferay.ide.idea.ui.actions;
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.externalSystem.model.execution.ExternalSystemTaskExecutionSettings;
+import com.intellij.openapi.project.Project;
 
 import com.liferay.ide.idea.core.LiferayIcons;
 
+import org.jetbrains.plugins.gradle.util.GradleConstants;
+
 /**
  * @author Andy Wu
  * @author Simon Jiang
@@ -19,6 +23,11 @@ public class DeployGradleModuleAction extends AbstractLiferayGradleTaskAction {
 		super("Deploy", "Run deploy task", LiferayIcons.LIFERAY_ICON, "deploy");
 	}
 
+	@Override
+	protected void afterTask(Project project, ExternalSystemTaskExecutionSettings settings, long startTime) {
+		waitForDeployedBundle(project, settings.getExternalProjectPath(), startTime, GradleConstants.SYSTEM_ID);
+	}
+
 	@Override
 	protected boolean isEnabledAndVisible(AnActionEvent anActionEvent) {
 		if (super.isEnabledAndVisible(anActionEvent)) {
@@ -28,4 +37,4 @@ public class DeployGradleModuleAction extends AbstractLiferayGradleTaskAction {
 		return false;
 	}
 
-}
\ No newline at end of file
+}
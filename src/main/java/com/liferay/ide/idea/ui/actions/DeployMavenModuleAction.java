@@ -5,12 +5,19 @@
 
 package com.liferay.ide.idea.ui.actions;
 
+import com.intellij.execution.runners.ExecutionEnvironment;
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 
 import com.liferay.ide.idea.core.LiferayIcons;
 
 import java.util.Arrays;
 
+import org.jetbrains.idea.maven.project.MavenProject;
+import org.jetbrains.idea.maven.utils.MavenUtil;
+import org.jetbrains.idea.maven.utils.actions.MavenActionUtil;
+
 /**
  * @author Joye Luo
  */
@@ -22,6 +29,30 @@ public class DeployMavenModuleAction extends AbstractLiferayMavenGoalAction {
 		goals = Arrays.asList("clean", "package", "bundle-support:deploy");
 	}
 
+	@Override
+	protected void beforeExecute(AnActionEvent anActionEvent, ExecutionEnvironment executionEnvironment) {
+		MavenProject mavenProject = MavenActionUtil.getMavenProject(anActionEvent.getDataContext());
+
+		if (mavenProject != null) {
+			executionEnvironment.putUserData(_DEPLOY_TIME, System.currentTimeMillis());
+			executionEnvironment.putUserData(_PROJECT_DIR, mavenProject.getDirectory());
+		}
+	}
+
+	@Override
+	protected void handleProcessTerminated(
+		Project project, ExecutionEnvironment executionEnvironment, int exitCode) {
+
+		super.handleProcessTerminated(project, executionEnvironment, exitCode);
+
+		String projectDir = executionEnvironment.getUserData(_PROJECT_DIR);
+		Long deployTime = executionEnvironment.getUserData(_DEPLOY_TIME);
+
+		if ((exitCode == 0) && (projectDir != null) && (deployTime != null)) {
+			waitForDeployedBundle(project, projectDir, deployTime, MavenUtil.SYSTEM_ID);
+		}
+	}
+
 	@Override
 	protected boolean isEnabledAndVisible(AnActionEvent anActionEvent) {
 		if (super.isEnabledAndVisible(anActionEvent)) {
@@ -31,4 +62,8 @@ public class DeployMavenModuleAction extends AbstractLiferayMavenGoalAction {
 		return false;
 	}
 
+	private static final Key<Long> _DEPLOY_TIME = Key.create("LIFERAY_MAVEN_DEPLOY_TIME");
+
+	private static final Key<String> _PROJECT_DIR = Key.create("LIFERAY_MAVEN_DEPLOY_PROJECT_DIR");
+
 }
\ No newline at end of file
@@ -0,0 +1,432 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.ui.actions;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.externalSystem.model.execution.ExternalSystemTaskExecutionSettings;
+import com.intellij.openapi.externalSystem.service.notification.ExternalSystemNotificationManager;
+import com.intellij.openapi.externalSystem.service.notification.NotificationCategory;
+import com.intellij.openapi.externalSystem.service.notification.NotificationData;
+import com.intellij.openapi.externalSystem.service.notification.NotificationSource;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import com.liferay.ide.idea.core.LiferayDeployScheduler;
+import com.liferay.ide.idea.core.LiferayIcons;
+import com.liferay.ide.idea.server.gogo.GogoBundle;
+import com.liferay.ide.idea.server.gogo.GogoBundleStateService;
+import com.liferay.ide.idea.server.portal.PortalBundle;
+import com.liferay.ide.idea.util.BundleDeployUtil;
+import com.liferay.ide.idea.util.FileUtil;
+import com.liferay.ide.idea.util.GradleUtil;
+import com.liferay.ide.idea.util.LiferayWorkspaceSupport;
+import com.liferay.ide.idea.util.ServerUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.plugins.gradle.util.GradleConstants;
+
+/**
+ * @author agent
+ */
+public class IncrementalDeployGradleModuleAction extends AbstractLiferayGradleTaskAction {
+
+	public IncrementalDeployGradleModuleAction() {
+		super("Incremental Deploy", "Copy changed bundle JARs into the server", LiferayIcons.LIFERAY_ICON, "jar");
+	}
+
+	/**
+	 * Copies the JAR of the module into osgi/modules when its content
+	 * changed. On the workspace root the bundles of all OSGi modules are
+	 * deployed in dependency order.
+	 */
+	@Override
+	protected void afterTask(Project project, ExternalSystemTaskExecutionSettings settings, long startTime) {
+		String projectPath = settings.getExternalProjectPath();
+
+		if (_isWorkspaceRoot(project, projectPath)) {
+			ProgressManager progressManager = ProgressManager.getInstance();
+
+			progressManager.run(
+				new Task.Backgroundable(project, "Deploying Liferay modules", true) {
+
+					@Override
+					public void run(@NotNull ProgressIndicator progressIndicator) {
+						_deployWorkspace(project, progressIndicator);
+					}
+
+				});
+
+			return;
+		}
+
+		Application application = ApplicationManager.getApplication();
+
+		application.executeOnPooledThread(() -> _deployIncrementally(project, projectPath, startTime));
+	}
+
+	/**
+	 * Builds the modules that do not depend on each other in parallel, which
+	 * matters most on the workspace root.
+	 */
+	@Override
+	protected String getScriptParameters() {
+		return "--parallel";
+	}
+
+	@Override
+	protected boolean isEnabledAndVisible(AnActionEvent anActionEvent) {
+		if (!super.isEnabledAndVisible(anActionEvent)) {
+			return false;
+		}
+
+		Project project = anActionEvent.getProject();
+
+		VirtualFile virtualFile = getVirtualFile(anActionEvent);
+
+		if ((virtualFile != null) && _isWorkspaceRoot(project, virtualFile.getCanonicalPath())) {
+			return _getPortalBundle(project) != null;
+		}
+
+		if (!verifyModuleDeploy(anActionEvent)) {
+			return false;
+		}
+
+		VirtualFile projectDir = getWorkingDirectory(anActionEvent);
+
+		if ((projectDir != null) && (projectDir.findChild("bnd.bnd") != null)) {
+			return true;
+		}
+
+		return false;
+	}
+
+	private void _deployIncrementally(Project project, String projectPath, long startTime) {
+		PortalBundle portalBundle = _getPortalBundle(project);
+
+		if (portalBundle == null) {
+			return;
+		}
+
+		try {
+			Path bundleJar = _getBundleJar(Paths.get(projectPath, "build", "libs"));
+
+			if (bundleJar == null) {
+				_showNotification(
+					project, "<b>No bundle JAR was built</b>", "<i>" + projectPath + "</i>",
+					NotificationCategory.WARNING);
+
+				return;
+			}
+
+			if (BundleDeployUtil.deploy(bundleJar, portalBundle.getModulesPath())) {
+				waitForDeployedBundle(project, projectPath, startTime, GradleConstants.SYSTEM_ID);
+			}
+			else {
+				_showNotification(
+					project, "<b>Deployed bundle is up to date</b>", "<i>" + bundleJar.getFileName() + "</i>",
+					NotificationCategory.INFO);
+			}
+		}
+		catch (IOException ioException) {
+			_showNotification(
+				project, "<b>Failed to deploy bundle</b>", "<i>" + projectPath + "</i> \n" + ioException.getMessage(),
+				NotificationCategory.ERROR);
+		}
+	}
+
+	private CompletableFuture<String> _deployModule(
+		Project project, String projectPath, Path modulesPath, ProgressIndicator progressIndicator) {
+
+		if (progressIndicator.isCanceled()) {
+			return CompletableFuture.failedFuture(new CancellationException());
+		}
+
+		long deployTime = System.currentTimeMillis();
+
+		return CompletableFuture.supplyAsync(
+			() -> {
+				progressIndicator.setText2(projectPath);
+
+				try {
+					Path bundleJar = _getBundleJar(Paths.get(projectPath, "build", "libs"));
+
+					if (bundleJar == null) {
+						throw new CompletionException(new IOException("No bundle JAR was built in " + projectPath));
+					}
+
+					return BundleDeployUtil.deploy(bundleJar, modulesPath);
+				}
+				catch (IOException ioException) {
+					throw new CompletionException(ioException);
+				}
+			},
+			AppExecutorUtil.getAppExecutorService()
+		).thenCompose(
+			deployed -> {
+				if (!deployed) {
+					return CompletableFuture.completedFuture(_UP_TO_DATE);
+				}
+
+				String bsn = GogoBundleStateService.getBundleSymbolicName(new File(projectPath));
+
+				GogoBundleStateService gogoBundleStateService = GogoBundleStateService.getInstance(project);
+
+				Collection<GogoBundle> gogoBundles = gogoBundleStateService.getBundles();
+
+				if ((bsn == null) || gogoBundles.isEmpty()) {
+
+					// Nothing to wait for, either the bundle name is unknown or
+					// the server is not running
+
+					return CompletableFuture.completedFuture(_COPIED);
+				}
+
+				CompletableFuture<GogoBundle> future = gogoBundleStateService.waitForState(
+					bsn, GogoBundle.ACTIVE, deployTime, _ACTIVATION_TIMEOUT);
+
+				return future.thenApply(
+					gogoBundle -> {
+						if (gogoBundle != null) {
+							return gogoBundle.getState();
+						}
+
+						GogoBundle lastBundle = gogoBundleStateService.getBundle(bsn);
+
+						return (lastBundle == null) ? "Not installed" : lastBundle.getState();
+					});
+			}
+		);
+	}
+
+	/**
+	 * Deploys the bundles of all OSGi modules, running the modules that do not
+	 * depend on each other in parallel. A module is only copied once the
+	 * bundles it depends on were redeployed and are active again, so the
+	 * portal resolves each bundle once instead of refreshing dependents over
+	 * and over. Modules that are deployed by other means, like WARs and
+	 * themes, are listed as not deployed in the summary.
+	 */
+	private void _deployWorkspace(Project project, ProgressIndicator progressIndicator) {
+		PortalBundle portalBundle = _getPortalBundle(project);
+
+		if (portalBundle == null) {
+			return;
+		}
+
+		Map<String, Set<String>> moduleDependencyGraph = GradleUtil.getModuleDependencyGraph(project);
+
+		Set<String> deployTaskPaths = GradleUtil.getModulePathsWithTask(project, "deploy");
+
+		List<String> notDeployed = new ArrayList<>();
+
+		Set<String> projectPaths = moduleDependencyGraph.keySet();
+
+		projectPaths.removeIf(
+			projectPath -> {
+				if (FileUtil.exists(new File(projectPath, "bnd.bnd"))) {
+					return false;
+				}
+
+				if (deployTaskPaths.contains(projectPath) && !_isWorkspaceRoot(project, projectPath)) {
+					File projectDir = new File(projectPath);
+
+					notDeployed.add(projectDir.getName());
+				}
+
+				return true;
+			});
+
+		if (moduleDependencyGraph.isEmpty() && notDeployed.isEmpty()) {
+			return;
+		}
+
+		Path modulesPath = portalBundle.getModulesPath();
+		AtomicInteger finished = new AtomicInteger();
+
+		progressIndicator.setIndeterminate(false);
+
+		Runtime runtime = Runtime.getRuntime();
+
+		LiferayDeployScheduler<String> liferayDeployScheduler = new LiferayDeployScheduler<>(
+			moduleDependencyGraph, runtime.availableProcessors(),
+			projectPath -> {
+				CompletableFuture<String> moduleFuture = _deployModule(
+					project, projectPath, modulesPath, progressIndicator);
+
+				return moduleFuture.whenComplete(
+					(state, throwable) -> progressIndicator.setFraction(
+						(double)finished.incrementAndGet() / moduleDependencyGraph.size()));
+			});
+
+		CompletableFuture<Void> future = liferayDeployScheduler.start();
+
+		future.join();
+
+		Map<String, CompletableFuture<String>> moduleFutures = liferayDeployScheduler.getFutures();
+
+		Map<String, Integer> counts = new TreeMap<>();
+
+		for (CompletableFuture<String> moduleFuture : moduleFutures.values()) {
+			String state;
+
+			if (moduleFuture.isCancelled()) {
+				state = "Skipped";
+			}
+			else if (moduleFuture.isCompletedExceptionally()) {
+				state = "Failed";
+			}
+			else {
+				state = moduleFuture.join();
+			}
+
+			counts.merge(state, 1, Integer::sum);
+		}
+
+		StringBuilder sb = new StringBuilder();
+
+		for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+
+			sb.append(entry.getKey());
+			sb.append(": ");
+			sb.append(entry.getValue());
+		}
+
+		NotificationCategory notificationCategory = NotificationCategory.INFO;
+
+		if (counts.containsKey("Failed") || counts.containsKey("Skipped")) {
+			notificationCategory = NotificationCategory.WARNING;
+		}
+
+		if (!notDeployed.isEmpty()) {
+			Collections.sort(notDeployed);
+
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+
+			sb.append("Not deployed, not OSGi bundles: ");
+			sb.append(String.join(", ", notDeployed));
+			sb.append(" \nRun Deploy on them instead");
+
+			notificationCategory = NotificationCategory.WARNING;
+		}
+
+		_showNotification(project, "<b>Deployed Liferay modules</b>", sb.toString(), notificationCategory);
+	}
+
+	@Nullable
+	private Path _getBundleJar(Path libsDir) throws IOException {
+		if (FileUtil.notExists(libsDir)) {
+			return null;
+		}
+
+		Path bundleJar = null;
+
+		try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(libsDir, "*.jar")) {
+			for (Path jar : directoryStream) {
+				String fileName = String.valueOf(jar.getFileName());
+
+				if (fileName.endsWith("-javadoc.jar") || fileName.endsWith("-sources.jar") ||
+					fileName.endsWith("-tests.jar")) {
+
+					continue;
+				}
+
+				if ((bundleJar == null) ||
+					(Files.getLastModifiedTime(jar).compareTo(Files.getLastModifiedTime(bundleJar)) > 0)) {
+
+					bundleJar = jar;
+				}
+			}
+		}
+
+		return bundleJar;
+	}
+
+	@Nullable
+	private PortalBundle _getPortalBundle(Project project) {
+		if (project == null) {
+			return null;
+		}
+
+		String homeDir = LiferayWorkspaceSupport.getHomeDir(project);
+		String basePath = project.getBasePath();
+
+		if (Objects.isNull(homeDir) || Objects.isNull(basePath)) {
+			return null;
+		}
+
+		Path portalBundlePath = Paths.get(basePath, homeDir);
+
+		if (FileUtil.notExists(portalBundlePath)) {
+			return null;
+		}
+
+		return ServerUtil.getPortalBundle(portalBundlePath);
+	}
+
+	private boolean _isWorkspaceRoot(Project project, String path) {
+		VirtualFile workspaceVirtualFile = LiferayWorkspaceSupport.getWorkspaceVirtualFile(project);
+
+		if ((workspaceVirtualFile == null) || (path == null)) {
+			return false;
+		}
+
+		return path.equals(workspaceVirtualFile.getCanonicalPath());
+	}
+
+	private void _showNotification(
+		Project project, String title, String message, NotificationCategory notificationCategory) {
+
+		NotificationData notificationData = new NotificationData(
+			title, message, notificationCategory, NotificationSource.TASK_EXECUTION);
+
+		notificationData.setBalloonNotification(true);
+
+		ExternalSystemNotificationManager externalSystemNotificationManager =
+			ExternalSystemNotificationManager.getInstance(project);
+
+		externalSystemNotificationManager.showNotification(GradleConstants.SYSTEM_ID, notificationData);
+	}
+
+	private static final long _ACTIVATION_TIMEOUT = 60000;
+
+	private static final String _COPIED = "Copied";
+
+	private static final String _UP_TO_DATE = "Up to date";
+
+}
@@ -15,35 +15,34 @@ import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.externalSystem.service.execution.ProgressExecutionMode;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScopesCore;
 import com.intellij.ui.content.Content;
 import com.intellij.ui.content.ContentManager;
 
+import com.liferay.ide.idea.bnd.BndBundleSymbolicNameIndex;
 import com.liferay.ide.idea.core.LiferayIcons;
-import com.liferay.ide.idea.server.gogo.GogoTelnetClient;
+import com.liferay.ide.idea.server.gogo.GogoSession;
+import com.liferay.ide.idea.server.gogo.GogoSessionService;
 import com.liferay.ide.idea.server.portal.PortalBundle;
-import com.liferay.ide.idea.util.FileUtil;
 import com.liferay.ide.idea.util.GradleUtil;
 import com.liferay.ide.idea.util.LiferayWorkspaceSupport;
 import com.liferay.ide.idea.util.ServerUtil;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Properties;
 
 /**
  * @author Terry Jia
@@ -64,30 +63,32 @@ public class WatchGradleModuleAction extends AbstractLiferayGradleTaskAction {
 	protected void afterTask(Project project) {
 		VirtualFile projectDir = ProjectUtil.guessProjectDir(project);
 
-		List<Path> bndPaths = _getBndPaths(projectDir);
-
-		if (bndPaths.isEmpty()) {
+		if (projectDir == null) {
 			return;
 		}
 
-		try (GogoTelnetClient gogoTelnetClient = new GogoTelnetClient("localhost", 11311)) {
-			for (Path bndPath : bndPaths) {
-				Properties properties = new Properties();
+		DumbService dumbService = DumbService.getInstance(project);
 
-				try (InputStream inputStream = Files.newInputStream(bndPath)) {
-					properties.load(inputStream);
+		Map<VirtualFile, String> bundleSymbolicNames = dumbService.runReadActionInSmartMode(
+			() -> BndBundleSymbolicNameIndex.getBundleSymbolicNames(
+				project, GlobalSearchScopesCore.directoryScope(project, projectDir, true)));
 
-					String bsn = properties.getProperty("Bundle-SymbolicName");
+		List<String> commands = new ArrayList<>();
 
-					String cmd = "uninstall " + bsn;
+		for (String bsn : new LinkedHashSet<>(bundleSymbolicNames.values())) {
+			commands.add("uninstall " + bsn);
+		}
 
-					gogoTelnetClient.send(cmd);
-				}
-				catch (IOException ioException) {
-				}
+		if (!commands.isEmpty()) {
+			GogoSessionService gogoSessionService = GogoSessionService.getInstance(project);
+
+			GogoSession gogoSession = gogoSessionService.getSession();
+
+			try {
+				gogoSession.send(commands);
+			}
+			catch (IOException ioException) {
 			}
-		}
-		catch (IOException ioException) {
 		}
 
 		File file = new File(projectDir.getCanonicalPath());
@@ -111,48 +112,49 @@ public class WatchGradleModuleAction extends AbstractLiferayGradleTaskAction {
 
 	@Override
 	protected boolean isEnabledAndVisible(AnActionEvent anActionEvent) {
-		if (super.isEnabledAndVisible(anActionEvent)) {
-			Project project = anActionEvent.getProject();
-
-			String homeDir = LiferayWorkspaceSupport.getHomeDir(project);
-
-			Path bundlePath = Paths.get(homeDir);
-
-			if (!bundlePath.isAbsolute()) {
-				bundlePath = Paths.get(project.getBasePath(), homeDir);
-			}
-
-			PortalBundle portalBundle = ServerUtil.getPortalBundle(bundlePath);
-
-			if (portalBundle == null) {
-				return false;
-			}
+		if (!super.isEnabledAndVisible(anActionEvent)) {
+			return false;
+		}
 
-			VirtualFile virtualFile = getVirtualFile(anActionEvent);
+		Project project = anActionEvent.getProject();
 
-			VirtualFile projectVirtualFile = ProjectUtil.guessProjectDir(project);
+		VirtualFile virtualFile = getVirtualFile(anActionEvent);
 
-			Module module = ModuleUtil.findModuleForFile(virtualFile, project);
+		VirtualFile projectVirtualFile = ProjectUtil.guessProjectDir(project);
 
-			if (projectVirtualFile.equals(virtualFile)) {
-				return GradleUtil.isWatchableProject(module);
-			}
+		Module module = ModuleUtil.findModuleForFile(virtualFile, project);
 
+		if (!projectVirtualFile.equals(virtualFile)) {
 			String moduleDirectoryName = LiferayWorkspaceSupport.getWorkspaceModuleDir(project);
 
 			if (Objects.nonNull(moduleDirectoryName)) {
 				String virtualFileToStr = virtualFile.toString();
 
-				if (virtualFileToStr.contains("/" + moduleDirectoryName)) {
-					return GradleUtil.isWatchableProject(module);
+				if (!virtualFileToStr.contains("/" + moduleDirectoryName)) {
+					return false;
 				}
 			}
-			else {
-				return GradleUtil.isWatchableProject(module);
-			}
 		}
 
-		return false;
+		if (!GradleUtil.isWatchableProject(module)) {
+			return false;
+		}
+
+		String homeDir = LiferayWorkspaceSupport.getHomeDir(project);
+
+		Path bundlePath = Paths.get(homeDir);
+
+		if (!bundlePath.isAbsolute()) {
+			bundlePath = Paths.get(project.getBasePath(), homeDir);
+		}
+
+		PortalBundle portalBundle = ServerUtil.getPortalBundle(bundlePath);
+
+		if (portalBundle == null) {
+			return false;
+		}
+
+		return true;
 	}
 
 	@Override
@@ -205,49 +207,4 @@ public class WatchGradleModuleAction extends AbstractLiferayGradleTaskAction {
 		return runnerAndConfigurationSettings;
 	}
 
-	private List<Path> _getBndPaths(VirtualFile projectDir) {
-		File file = new File(projectDir.getCanonicalPath());
-
-		File bndFile = new File(file, "bnd.bnd");
-
-		List<Path> bndFiles = new ArrayList<>();
-
-		if (!bndFile.exists()) {
-			try {
-				Files.walkFileTree(
-					Paths.get(file.getPath()),
-					new SimpleFileVisitor<Path>() {
-
-						@Override
-						public FileVisitResult postVisitDirectory(Path dir, IOException ioException) {
-							if (FileUtil.exists(new File(dir.toFile(), "bnd.bnd"))) {
-								return FileVisitResult.SKIP_SUBTREE;
-							}
-
-							return FileVisitResult.CONTINUE;
-						}
-
-						@Override
-						public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-							if (file.endsWith("bnd.bnd")) {
-								bndFiles.add(file);
-
-								return FileVisitResult.SKIP_SIBLINGS;
-							}
-
-							return FileVisitResult.CONTINUE;
-						}
-
-					});
-			}
-			catch (IOException ioException) {
-			}
-		}
-		else {
-			bndFiles.add(bndFile.toPath());
-		}
-
-		return bndFiles;
-	}
-
 }
\ No newline at end of file
@@ -9,19 +9,13 @@ import com.intellij.ide.projectView.PresentationData;
 import com.intellij.ide.projectView.ProjectViewNode;
 import com.intellij.ide.projectView.ProjectViewNodeDecorator;
 import com.intellij.ide.projectView.impl.ProjectRootsUtil;
-import com.intellij.openapi.application.Application;
-import com.intellij.openapi.application.ApplicationManager;
-import com.intellij.openapi.externalSystem.model.task.ExternalSystemTask;
-import com.intellij.openapi.externalSystem.model.task.ExternalSystemTaskState;
-import com.intellij.openapi.externalSystem.service.internal.ExternalSystemExecuteTaskTask;
-import com.intellij.openapi.externalSystem.service.internal.ExternalSystemProcessingManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 
-import java.util.List;
-import java.util.stream.Stream;
-
-import org.jetbrains.plugins.gradle.util.GradleConstants;
+import com.liferay.ide.idea.bnd.BndBundleSymbolicNameIndex;
+import com.liferay.ide.idea.core.LiferayWatchTaskRegistry;
+import com.liferay.ide.idea.server.gogo.GogoBundle;
+import com.liferay.ide.idea.server.gogo.GogoBundleStateService;
 
 /**
  * @author Simon Jiang
@@ -50,43 +44,47 @@ public class ProjectViewWatchDecorator implements ProjectViewNodeDecorator {
 		}
 
 		if (ProjectRootsUtil.isModuleContentRoot(virtualFile, project)) {
-			Application application = ApplicationManager.getApplication();
-
-			ExternalSystemProcessingManager processingManager = application.getService(
-				ExternalSystemProcessingManager.class);
-
-			List<ExternalSystemTask> taskList = processingManager.findTasksOfState(
-				GradleConstants.SYSTEM_ID, ExternalSystemTaskState.IN_PROGRESS);
-
-			Stream<ExternalSystemTask> taskStream = taskList.stream();
-
-			taskStream.filter(
-				task -> task instanceof ExternalSystemExecuteTaskTask
-			).map(
-				task -> (ExternalSystemExecuteTaskTask)task
-			).filter(
-				task -> {
-					List<String> tasksToExecute = task.getTasksToExecute();
-
-					return tasksToExecute.contains("watch");
-				}
-			).map(
-				ExternalSystemExecuteTaskTask::getExternalProjectPath
-			).filter(
-				externalProjectPath -> canonicalPath.equals(externalProjectPath)
-			).forEach(
-				externalProjectPath -> {
-					String existedLocationString = data.getLocationString();
-
-					if (existedLocationString != null) {
-						data.setLocationString(existedLocationString + " [watching]");
-					}
-					else {
-						data.setLocationString("[watching]");
-					}
-				}
-			);
+			LiferayWatchTaskRegistry liferayWatchTaskRegistry = LiferayWatchTaskRegistry.getInstance();
+
+			if (liferayWatchTaskRegistry.isWatching(canonicalPath)) {
+				_appendLocationString(data, "[watching]");
+			}
+
+			GogoBundle gogoBundle = _getGogoBundle(project, virtualFile);
+
+			if (gogoBundle != null) {
+				_appendLocationString(data, "[" + gogoBundle.getState() + "]");
+			}
+		}
+	}
+
+	private void _appendLocationString(PresentationData data, String locationString) {
+		String existedLocationString = data.getLocationString();
+
+		if (existedLocationString != null) {
+			data.setLocationString(existedLocationString + " " + locationString);
+		}
+		else {
+			data.setLocationString(locationString);
 		}
 	}
 
+	private GogoBundle _getGogoBundle(Project project, VirtualFile moduleDir) {
+		VirtualFile bndFile = moduleDir.findChild("bnd.bnd");
+
+		if (bndFile == null) {
+			return null;
+		}
+
+		String bsn = BndBundleSymbolicNameIndex.getBundleSymbolicName(project, bndFile);
+
+		if (bsn == null) {
+			return null;
+		}
+
+		GogoBundleStateService gogoBundleStateService = GogoBundleStateService.getInstance(project);
+
+		return gogoBundleStateService.getBundle(bsn);
+	}
+
 }
\ No newline at end of file
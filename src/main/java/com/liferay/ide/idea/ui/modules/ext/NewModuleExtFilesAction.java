@@ -27,7 +27,7 @@ import com.liferay.ide.idea.core.LiferayIcons;
 import com.liferay.ide.idea.core.MessagesBundle;
 import com.liferay.ide.idea.ui.compoments.FixedSizeRefreshButton;
 import com.liferay.ide.idea.util.GradleDependency;
-import com.liferay.ide.idea.util.GradleDependencyUpdater;
+import com.liferay.ide.idea.util.GradleDependencyExtractor;
 import com.liferay.ide.idea.util.GradleUtil;
 import com.liferay.ide.idea.util.LiferayWorkspaceSupport;
 
@@ -160,10 +160,10 @@ public class NewModuleExtFilesAction extends AnAction implements DumbAware {
 					return;
 				}
 
-				GradleDependencyUpdater gradleDependencyUpdater = new GradleDependencyUpdater(
+				GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(
 					VfsUtil.virtualToIoFile(_gradleVirtualFile));
 
-				List<GradleDependency> originalModules = gradleDependencyUpdater.getDependenciesByName(
+				List<GradleDependency> originalModules = gradleDependencyExtractor.getDependenciesByName(
 					"originalModule");
 
 				if (!originalModules.isEmpty()) {
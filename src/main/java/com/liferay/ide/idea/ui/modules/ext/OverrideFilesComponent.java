@@ -44,9 +44,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
-import java.util.ArrayList;
 import java.util.Enumeration;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Set;
 
 import javax.swing.DefaultListCellRenderer;
@@ -77,7 +76,7 @@ public class OverrideFilesComponent {
 
 		application.executeOnPooledThread(
 			() -> {
-				List<String> relativePaths = new ArrayList<>(listModel.getSize());
+				Set<String> relativePaths = new HashSet<>();
 				Enumeration<EntryDescription> elements = listModel.elements();
 
 				while (elements.hasMoreElements()) {
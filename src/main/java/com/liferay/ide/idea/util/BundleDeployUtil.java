@@ -0,0 +1,240 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author agent
+ */
+public class BundleDeployUtil {
+
+	/**
+	 * Copies the bundle JAR into the modules directory unless a copy with the
+	 * same content hash is already there. Like the deploy task, the copy is
+	 * named after the Bundle-SymbolicName rather than the versioned build
+	 * output. The copy is written next to the target and moved into place, so
+	 * the portal never picks up a partial JAR, and only then are versioned
+	 * copies of the same bundle, named &lt;bsn&gt;-*.jar, removed.
+	 *
+	 * @return true if the bundle was copied, false if the deployed copy was
+	 *         already up to date
+	 */
+	public static boolean deploy(Path bundleJar, Path modulesDir) throws IOException {
+		String bundleSymbolicName = getBundleSymbolicName(bundleJar);
+
+		if (bundleSymbolicName == null) {
+			throw new IOException(bundleJar + " is not an OSGi bundle");
+		}
+
+		Path deployedJar = modulesDir.resolve(bundleSymbolicName + ".jar");
+
+		if (Files.exists(deployedJar) && getContentHash(bundleJar).equals(getContentHash(deployedJar))) {
+			return false;
+		}
+
+		Files.createDirectories(modulesDir);
+
+		Path tempJar = modulesDir.resolve("." + deployedJar.getFileName() + ".tmp");
+
+		try {
+			Files.copy(bundleJar, tempJar, StandardCopyOption.REPLACE_EXISTING);
+
+			Files.move(tempJar, deployedJar, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(tempJar);
+		}
+
+		for (Path otherJar : _getOtherJars(modulesDir, bundleSymbolicName)) {
+			Files.deleteIfExists(otherJar);
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the Bundle-SymbolicName of the JAR without its directives, or
+	 *         null if the JAR has none
+	 */
+	@Nullable
+	public static String getBundleSymbolicName(Path jar) throws IOException {
+		try (JarFile jarFile = new JarFile(jar.toFile())) {
+			Manifest manifest = jarFile.getManifest();
+
+			if (manifest == null) {
+				return null;
+			}
+
+			Attributes attributes = manifest.getMainAttributes();
+
+			String bundleSymbolicName = attributes.getValue("Bundle-SymbolicName");
+
+			if (bundleSymbolicName == null) {
+				return null;
+			}
+
+			int index = bundleSymbolicName.indexOf(';');
+
+			if (index != -1) {
+				bundleSymbolicName = bundleSymbolicName.substring(0, index);
+			}
+
+			return bundleSymbolicName.trim();
+		}
+	}
+
+	/**
+	 * Hashes the entries of a JAR by name and content. Entry timestamps, entry
+	 * order and the manifest headers that only record build times are
+	 * ignored, so rebuilding an unchanged module gives the same hash.
+	 */
+	public static String getContentHash(Path jar) throws IOException {
+		MessageDigest messageDigest = _getMessageDigest();
+
+		try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+			List<ZipEntry> entries = new ArrayList<>(Collections.list(zipFile.entries()));
+
+			entries.sort(Comparator.comparing(ZipEntry::getName));
+
+			byte[] buffer = new byte[8192];
+
+			for (ZipEntry entry : entries) {
+				if (entry.isDirectory()) {
+					continue;
+				}
+
+				String entryName = entry.getName();
+
+				messageDigest.update(entryName.getBytes(StandardCharsets.UTF_8));
+				messageDigest.update((byte)0);
+
+				try (InputStream inputStream = zipFile.getInputStream(entry)) {
+					if (JarFile.MANIFEST_NAME.equalsIgnoreCase(entryName)) {
+						messageDigest.update(_normalizeManifest(new Manifest(inputStream)));
+
+						continue;
+					}
+
+					int length;
+
+					while ((length = inputStream.read(buffer)) != -1) {
+						messageDigest.update(buffer, 0, length);
+					}
+				}
+			}
+		}
+
+		HexFormat hexFormat = HexFormat.of();
+
+		return hexFormat.formatHex(messageDigest.digest());
+	}
+
+	private static List<Path> _getOtherJars(Path modulesDir, String bundleSymbolicName) throws IOException {
+		List<Path> otherJars = new ArrayList<>();
+
+		try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(
+				modulesDir, bundleSymbolicName + "-*.jar")) {
+
+			for (Path jar : directoryStream) {
+				try {
+
+					// Another bundle may share the prefix, com.liferay.foo-web
+
+					if (bundleSymbolicName.equals(getBundleSymbolicName(jar))) {
+						otherJars.add(jar);
+					}
+				}
+				catch (IOException ioException) {
+
+					// Not a readable JAR, it cannot be a copy of the bundle
+
+				}
+			}
+		}
+
+		return otherJars;
+	}
+
+	private static MessageDigest _getMessageDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+			throw new IllegalStateException(noSuchAlgorithmException);
+		}
+	}
+
+	private static byte[] _normalizeManifest(Manifest manifest) {
+		StringBuilder sb = new StringBuilder();
+
+		_writeAttributes(sb, manifest.getMainAttributes());
+
+		Map<String, Attributes> entries = new TreeMap<>(manifest.getEntries());
+
+		for (Map.Entry<String, Attributes> entry : entries.entrySet()) {
+			sb.append("Name: ");
+			sb.append(entry.getKey());
+			sb.append('\n');
+
+			_writeAttributes(sb, entry.getValue());
+		}
+
+		String normalizedManifest = sb.toString();
+
+		return normalizedManifest.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void _writeAttributes(StringBuilder sb, Attributes attributes) {
+		Map<String, String> sortedAttributes = new TreeMap<>();
+
+		for (Map.Entry<Object, Object> entry : attributes.entrySet()) {
+			String name = String.valueOf(entry.getKey());
+
+			if (!_ignoredManifestHeaders.contains(name)) {
+				sortedAttributes.put(name, String.valueOf(entry.getValue()));
+			}
+		}
+
+		for (Map.Entry<String, String> entry : sortedAttributes.entrySet()) {
+			sb.append(entry.getKey());
+			sb.append(": ");
+			sb.append(entry.getValue());
+			sb.append('\n');
+		}
+
+		sb.append('\n');
+	}
+
+	private static final List<String> _ignoredManifestHeaders = Arrays.asList("Bnd-LastModified", "Build-Time");
+
+}
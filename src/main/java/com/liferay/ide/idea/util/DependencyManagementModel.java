@@ -0,0 +1,25 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import java.util.List;
+
+/**
+ * Tooling API model built by dependency-management.gradle. The name of this
+ * interface is what the init script's model builder matches on, so it must
+ * not be renamed or moved without updating the script.
+ *
+ * @author agent
+ */
+public interface DependencyManagementModel {
+
+	/**
+	 * @return the dependencies managed by the workspace target platform, as
+	 *         "group:name version" entries sorted by coordinate
+	 */
+	public List<String> getManagedDependencies();
+
+}
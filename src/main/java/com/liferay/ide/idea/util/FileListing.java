@@ -7,10 +7,30 @@ package com.liferay.ide.idea.util;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Greg Amerson
@@ -19,23 +39,189 @@ import java.util.List;
 public class FileListing {
 
 	public static List<File> getFileListing(File aStartingDir) throws FileNotFoundException {
-		List<File> result = new ArrayList<>();
+		if (!aStartingDir.isDirectory()) {
+			throw new FileNotFoundException(aStartingDir.getAbsolutePath());
+		}
+
+		try (Stream<Path> paths = walk(aStartingDir.toPath(), Collections.emptyList())) {
+			return paths.map(
+				Path::toFile
+			).collect(
+				Collectors.toList()
+			);
+		}
+	}
 
-		File[] filesAndDirs = aStartingDir.listFiles();
+	/**
+	 * Lists the files and directories below a directory, depth first, while
+	 * the returned stream is consumed, so a short-circuiting operation stops
+	 * the walk. Directories that cannot be read are skipped. The stream must
+	 * be closed.
+	 *
+	 * @param excludeGlobs globs of directories to skip with their contents, a
+	 *        glob without a '/' matches the directory name, otherwise the path
+	 *        relative to the start directory
+	 */
+	public static Stream<Path> walk(Path startDir, Collection<String> excludeGlobs) {
+		PathWalker pathWalker = new PathWalker(startDir, new ExcludeMatcher(startDir, excludeGlobs));
 
-		List<File> filesDirs = Arrays.asList(filesAndDirs);
+		Stream<Path> stream = StreamSupport.stream(
+			Spliterators.spliteratorUnknownSize(pathWalker, Spliterator.DISTINCT | Spliterator.NONNULL), false);
 
-		for (File file : filesDirs) {
-			result.add(file);
+		return stream.onClose(pathWalker::close);
+	}
+
+	private static class ExcludeGlob {
+
+		public ExcludeGlob(PathMatcher pathMatcher, boolean nameOnly) {
+			this.pathMatcher = pathMatcher;
+			this.nameOnly = nameOnly;
+		}
 
-			if (!file.isFile()) {
-				List<File> deeperList = getFileListing(file);
+		public final boolean nameOnly;
+		public final PathMatcher pathMatcher;
 
-				result.addAll(deeperList);
+	}
+
+	private static class ExcludeMatcher {
+
+		public ExcludeMatcher(Path startDir, Collection<String> excludeGlobs) {
+			_startDir = startDir;
+
+			FileSystem fileSystem = startDir.getFileSystem();
+
+			for (String excludeGlob : excludeGlobs) {
+				_excludeGlobs.add(
+					new ExcludeGlob(fileSystem.getPathMatcher("glob:" + excludeGlob), excludeGlob.indexOf('/') == -1));
 			}
 		}
 
-		return result;
+		public boolean isExcluded(Path dir) {
+			if (_excludeGlobs.isEmpty()) {
+				return false;
+			}
+
+			Path fileName = dir.getFileName();
+			Path relativePath = _startDir.relativize(dir);
+
+			for (ExcludeGlob excludeGlob : _excludeGlobs) {
+				if (excludeGlob.nameOnly) {
+					if ((fileName != null) && excludeGlob.pathMatcher.matches(fileName)) {
+						return true;
+					}
+				}
+				else if (excludeGlob.pathMatcher.matches(relativePath)) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		private final List<ExcludeGlob> _excludeGlobs = new ArrayList<>();
+		private final Path _startDir;
+
+	}
+
+	private static class PathWalker implements Iterator<Path> {
+
+		public PathWalker(Path startDir, ExcludeMatcher excludeMatcher) {
+			_excludeMatcher = excludeMatcher;
+
+			_open(startDir);
+		}
+
+		public void close() {
+			while (!_directoryStreams.isEmpty()) {
+				_closeLast();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			while ((_next == null) && !_iterators.isEmpty()) {
+				Iterator<Path> iterator = _iterators.peekLast();
+
+				boolean hasNext;
+
+				try {
+					hasNext = iterator.hasNext();
+				}
+				catch (DirectoryIteratorException directoryIteratorException) {
+					hasNext = false;
+				}
+
+				if (!hasNext) {
+					_closeLast();
+
+					continue;
+				}
+
+				Path path = iterator.next();
+
+				if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+					if (_excludeMatcher.isExcluded(path)) {
+						continue;
+					}
+
+					_open(path);
+				}
+
+				_next = path;
+			}
+
+			if (_next != null) {
+				return true;
+			}
+
+			return false;
+		}
+
+		@Override
+		public Path next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			Path path = _next;
+
+			_next = null;
+
+			return path;
+		}
+
+		private void _closeLast() {
+			_iterators.removeLast();
+
+			DirectoryStream<Path> directoryStream = _directoryStreams.removeLast();
+
+			try {
+				directoryStream.close();
+			}
+			catch (IOException ioException) {
+				throw new UncheckedIOException(ioException);
+			}
+		}
+
+		private void _open(Path dir) {
+			try {
+				DirectoryStream<Path> directoryStream = Files.newDirectoryStream(dir);
+
+				_directoryStreams.addLast(directoryStream);
+				_iterators.addLast(directoryStream.iterator());
+			}
+			catch (IOException ioException) {
+
+				// Unreadable directories are skipped like excluded ones
+
+			}
+		}
+
+		private final Deque<DirectoryStream<Path>> _directoryStreams = new ArrayDeque<>();
+		private final ExcludeMatcher _excludeMatcher;
+		private final Deque<Iterator<Path>> _iterators = new ArrayDeque<>();
+		private Path _next;
+
 	}
 
-}
\ No newline at end of file
+}
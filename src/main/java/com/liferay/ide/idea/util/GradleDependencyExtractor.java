@@ -0,0 +1,330 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MultimapBuilder;
+
+import com.liferay.ide.idea.util.GradleScriptTokenizer.TokenType;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Lightweight alternative to {@link GradleDependencyUpdater} that reads the
+ * dependencies and repositories of a build script with a streaming tokenizer
+ * instead of compiling the script to a Groovy AST.
+ *
+ * @author agent
+ */
+public class GradleDependencyExtractor {
+
+	public GradleDependencyExtractor(CharSequence scriptContents) {
+		_parse(new GradleScriptTokenizer(scriptContents));
+	}
+
+	public GradleDependencyExtractor(File file) throws IOException {
+		this(FileUtils.readFileToString(file, "UTF-8"));
+	}
+
+	public ListMultimap<String, GradleDependency> getAllDependencies() {
+		return _dependencies;
+	}
+
+	public List<String> getAllRepositories() {
+		return _repositories;
+	}
+
+	public List<GradleDependency> getDependenciesByName(String configurationName) {
+		return _dependencies.get(configurationName);
+	}
+
+	private void _addRepository(String repository) {
+		if (!CoreUtil.isNullOrEmpty(repository) && !_repositories.contains(repository)) {
+			_repositories.add(repository);
+		}
+	}
+
+	private String _getBlockName(List<Token> statement) {
+		for (Token token : statement) {
+			if (token.type == TokenType.IDENTIFIER) {
+				return token.text;
+			}
+		}
+
+		return "";
+	}
+
+	private boolean _isContinued(List<Token> statement) {
+		if (statement.isEmpty()) {
+			return false;
+		}
+
+		Token lastToken = statement.get(statement.size() - 1);
+
+		if ((lastToken.type == TokenType.ASSIGN) || (lastToken.type == TokenType.COLON) ||
+			(lastToken.type == TokenType.COMMA)) {
+
+			return true;
+		}
+
+		if ((lastToken.type == TokenType.OTHER) && _operators.contains(lastToken.text)) {
+			return true;
+		}
+
+		return false;
+	}
+
+	private boolean _isDependenciesBlock(Deque<String> blocks) {
+		if (!Objects.equals(blocks.peek(), "dependencies")) {
+			return false;
+		}
+
+		if (blocks.size() == 1) {
+			return true;
+		}
+
+		if ((blocks.size() == 2) && Objects.equals(blocks.peekLast(), "buildscript")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	private boolean _isRepositoryBlock(Deque<String> blocks) {
+		if (blocks.size() < 2) {
+			return false;
+		}
+
+		Iterator<String> iterator = blocks.iterator();
+
+		String blockName = iterator.next();
+
+		if (!Objects.equals(blockName, "maven") && !Objects.equals(blockName, "ivy")) {
+			return false;
+		}
+
+		return Objects.equals(iterator.next(), "repositories");
+	}
+
+	private void _parse(GradleScriptTokenizer tokenizer) {
+		Deque<String> blocks = new ArrayDeque<>();
+		Deque<Integer> depths = new ArrayDeque<>();
+		List<Token> statement = new ArrayList<>();
+
+		int depth = 0;
+
+		while (tokenizer.next()) {
+			TokenType type = tokenizer.getType();
+
+			if ((type == TokenType.LEFT_PAREN) || (type == TokenType.LEFT_BRACKET)) {
+				depth++;
+				statement.add(new Token(type, tokenizer.getText()));
+			}
+			else if ((type == TokenType.RIGHT_PAREN) || (type == TokenType.RIGHT_BRACKET)) {
+				depth = Math.max(0, depth - 1);
+				statement.add(new Token(type, tokenizer.getText()));
+			}
+			else if (type == TokenType.LEFT_BRACE) {
+				_processStatement(blocks, statement);
+
+				blocks.push(_getBlockName(statement));
+				depths.push(depth);
+
+				depth = 0;
+				statement = new ArrayList<>();
+			}
+			else if (type == TokenType.RIGHT_BRACE) {
+				_processStatement(blocks, statement);
+
+				if (!blocks.isEmpty()) {
+					blocks.pop();
+					depth = depths.pop();
+				}
+
+				statement = new ArrayList<>();
+			}
+			else if ((type == TokenType.NEW_LINE) || (type == TokenType.SEMICOLON)) {
+				if ((depth == 0) && ((type == TokenType.SEMICOLON) || !_isContinued(statement))) {
+					_processStatement(blocks, statement);
+
+					statement = new ArrayList<>();
+				}
+			}
+			else {
+				statement.add(new Token(type, tokenizer.getText()));
+			}
+		}
+
+		_processStatement(blocks, statement);
+	}
+
+	/**
+	 * parse "configurationName 'group:name:version:classifier'" and
+	 * "configurationName group: group, name: name, version: version"
+	 */
+	private void _processDependencyStatement(List<Token> statement) {
+		if ((statement.size() < 2) || (statement.get(0).type != TokenType.IDENTIFIER)) {
+			return;
+		}
+
+		String configurationName = statement.get(0).text;
+
+		List<Token> arguments = statement.subList(1, statement.size());
+
+		if (arguments.get(0).type == TokenType.LEFT_PAREN) {
+			int end = arguments.size();
+
+			if (arguments.get(end - 1).type == TokenType.RIGHT_PAREN) {
+				end--;
+			}
+
+			arguments = arguments.subList(1, end);
+		}
+
+		if (arguments.isEmpty()) {
+			return;
+		}
+
+		Token firstArgument = arguments.get(0);
+
+		if ((firstArgument.type == TokenType.STRING) &&
+			((arguments.size() == 1) || (arguments.get(1).type == TokenType.COMMA))) {
+
+			String[] groups = firstArgument.text.split(":");
+
+			if (groups.length < 2) {
+				return;
+			}
+
+			String version = (groups.length > 2) ? groups[2] : null;
+
+			_dependencies.put(configurationName, new GradleDependency(groups[0], groups[1], version));
+
+			return;
+		}
+
+		if ((arguments.size() < 3) || (arguments.get(1).type != TokenType.COLON)) {
+			return;
+		}
+
+		Map<String, String> dependencyMap = new HashMap<>();
+
+		String key = null;
+		StringBuilder value = new StringBuilder();
+
+		for (Token token : arguments) {
+			if ((key == null) && (token.type == TokenType.COLON)) {
+				key = value.toString();
+
+				value.setLength(0);
+			}
+			else if (token.type == TokenType.COMMA) {
+				if (key != null) {
+					dependencyMap.put(key, value.toString());
+				}
+
+				key = null;
+
+				value.setLength(0);
+			}
+			else {
+				value.append(token.text);
+			}
+		}
+
+		if (key != null) {
+			dependencyMap.put(key, value.toString());
+		}
+
+		_dependencies.put(configurationName, new GradleDependency(dependencyMap));
+	}
+
+	private void _processRepositoriesStatement(List<Token> statement) {
+		if (statement.isEmpty()) {
+			return;
+		}
+
+		Token token = statement.get(0);
+
+		if ((token.type == TokenType.IDENTIFIER) && _wellKnownRepositories.contains(token.text)) {
+			_addRepository(token.text);
+		}
+	}
+
+	/**
+	 * parse "url 'https://...'", "url = 'https://...'" and "url = uri('https://...')"
+	 */
+	private void _processRepositoryStatement(List<Token> statement) {
+		if (statement.size() < 2) {
+			return;
+		}
+
+		Token token = statement.get(0);
+
+		if ((token.type != TokenType.IDENTIFIER) || !Objects.equals(token.text, "url")) {
+			return;
+		}
+
+		for (Token argument : statement.subList(1, statement.size())) {
+			if (argument.type == TokenType.STRING) {
+				_addRepository(argument.text);
+
+				return;
+			}
+		}
+	}
+
+	private void _processStatement(Deque<String> blocks, List<Token> statement) {
+		if (statement.isEmpty()) {
+			return;
+		}
+
+		if (_isDependenciesBlock(blocks)) {
+			_processDependencyStatement(statement);
+		}
+		else if (Objects.equals(blocks.peek(), "repositories")) {
+			_processRepositoriesStatement(statement);
+		}
+		else if (_isRepositoryBlock(blocks)) {
+			_processRepositoryStatement(statement);
+		}
+	}
+
+	private static final List<String> _operators = Arrays.asList("&", "*", "+", "-", ".", "/", "?", "|");
+	private static final List<String> _wellKnownRepositories = Arrays.asList(
+		"google", "gradlePluginPortal", "jcenter", "mavenCentral", "mavenLocal");
+
+	private final ListMultimap<String, GradleDependency> _dependencies = MultimapBuilder.treeKeys(
+	).arrayListValues(
+	).build();
+	private final List<String> _repositories = new ArrayList<>();
+
+	private static class Token {
+
+		public Token(TokenType type, String text) {
+			this.type = type;
+			this.text = text;
+		}
+
+		public final String text;
+		public final TokenType type;
+
+	}
+
+}
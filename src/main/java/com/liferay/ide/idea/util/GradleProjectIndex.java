@@ -0,0 +1,143 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import com.intellij.openapi.externalSystem.util.ExternalSystemApiUtil;
+import com.intellij.openapi.module.Module;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gradle.tooling.model.GradleProject;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author agent
+ */
+public class GradleProjectIndex {
+
+	public GradleProjectIndex(@NotNull GradleProject rootGradleProject) {
+		_rootGradleProject = rootGradleProject;
+
+		Map<String, GradleProject> gradleProjectsByDirectory = new HashMap<>();
+		Map<String, GradleProject> gradleProjectsByName = new HashMap<>();
+		Map<String, GradleProject> gradleProjectsByPath = new HashMap<>();
+
+		Deque<GradleProject> gradleProjects = new ArrayDeque<>();
+
+		gradleProjects.push(rootGradleProject);
+
+		while (!gradleProjects.isEmpty()) {
+			GradleProject gradleProject = gradleProjects.pop();
+
+			gradleProjectsByName.putIfAbsent(gradleProject.getName(), gradleProject);
+			gradleProjectsByPath.put(gradleProject.getPath(), gradleProject);
+
+			String directoryKey = _getDirectoryKey(_getProjectDirectory(gradleProject));
+
+			if (directoryKey != null) {
+				gradleProjectsByDirectory.putIfAbsent(directoryKey, gradleProject);
+			}
+
+			List<GradleProject> childGradleProjects = new ArrayList<>(gradleProject.getChildren());
+
+			Collections.reverse(childGradleProjects);
+
+			for (GradleProject childGradleProject : childGradleProjects) {
+				gradleProjects.push(childGradleProject);
+			}
+		}
+
+		_gradleProjectsByDirectory = gradleProjectsByDirectory;
+		_gradleProjectsByName = gradleProjectsByName;
+		_gradleProjectsByPath = gradleProjectsByPath;
+	}
+
+	@Nullable
+	public GradleProject getGradleProject(@NotNull Module module) {
+		String directoryKey = _getDirectoryKey(ExternalSystemApiUtil.getExternalProjectPath(module));
+
+		if (directoryKey != null) {
+			GradleProject gradleProject = _gradleProjectsByDirectory.get(directoryKey);
+
+			if (gradleProject != null) {
+				return gradleProject;
+			}
+		}
+
+		String moduleName = module.getName();
+
+		if (moduleName.contains(".")) {
+			moduleName = moduleName.substring(moduleName.lastIndexOf(".") + 1);
+		}
+
+		return getGradleProjectByName(moduleName);
+	}
+
+	@Nullable
+	public GradleProject getGradleProjectByName(String name) {
+		return _gradleProjectsByName.get(name);
+	}
+
+	@Nullable
+	public GradleProject getGradleProjectByPath(String path) {
+		return _gradleProjectsByPath.get(path);
+	}
+
+	@NotNull
+	public GradleProject getRootGradleProject() {
+		return _rootGradleProject;
+	}
+
+	private static String _getDirectoryKey(File directory) {
+		if (directory == null) {
+			return null;
+		}
+
+		try {
+			return directory.getCanonicalPath();
+		}
+		catch (IOException ioException) {
+			return directory.getAbsolutePath();
+		}
+	}
+
+	private static String _getDirectoryKey(String directoryPath) {
+		if (CoreUtil.isNullOrEmpty(directoryPath)) {
+			return null;
+		}
+
+		return _getDirectoryKey(new File(directoryPath));
+	}
+
+	private static File _getProjectDirectory(GradleProject gradleProject) {
+		try {
+			return gradleProject.getProjectDirectory();
+		}
+		catch (Exception exception) {
+
+			// Models from Gradle versions older than 2.4 do not expose the project directory
+
+			return null;
+		}
+	}
+
+	private final Map<String, GradleProject> _gradleProjectsByDirectory;
+	private final Map<String, GradleProject> _gradleProjectsByName;
+	private final Map<String, GradleProject> _gradleProjectsByPath;
+	private final GradleProject _rootGradleProject;
+
+}
@@ -0,0 +1,234 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+/**
+ * @author agent
+ */
+public class GradleScriptTokenizer {
+
+	public GradleScriptTokenizer(CharSequence scriptContents) {
+		_scriptContents = scriptContents;
+		_length = scriptContents.length();
+	}
+
+	public String getText() {
+		return _text;
+	}
+
+	public TokenType getType() {
+		return _type;
+	}
+
+	/**
+	 * Moves to the next token, skipping whitespace and comments.
+	 *
+	 * @return false once the end of the script has been reached
+	 */
+	public boolean next() {
+		while (_position < _length) {
+			char c = _scriptContents.charAt(_position);
+
+			if (c == '\n') {
+				_position++;
+
+				return _setToken(TokenType.NEW_LINE, "\n");
+			}
+
+			if (Character.isWhitespace(c)) {
+				_position++;
+
+				continue;
+			}
+
+			if ((c == '\\') && ((_position + 1) < _length) && (_scriptContents.charAt(_position + 1) == '\n')) {
+				_position += 2;
+
+				continue;
+			}
+
+			if ((c == '/') && ((_position + 1) < _length)) {
+				char nextChar = _scriptContents.charAt(_position + 1);
+
+				if (nextChar == '/') {
+					_skipLineComment();
+
+					continue;
+				}
+
+				if (nextChar == '*') {
+					_skipBlockComment();
+
+					continue;
+				}
+			}
+
+			if ((c == '\'') || (c == '"')) {
+				return _setToken(TokenType.STRING, _readString(c));
+			}
+
+			if (Character.isJavaIdentifierStart(c)) {
+				return _setToken(TokenType.IDENTIFIER, _readWhile(true));
+			}
+
+			if (Character.isDigit(c)) {
+				return _setToken(TokenType.OTHER, _readWhile(false));
+			}
+
+			_position++;
+
+			switch (c) {
+				case '(':
+					return _setToken(TokenType.LEFT_PAREN, "(");
+				case ')':
+					return _setToken(TokenType.RIGHT_PAREN, ")");
+				case ',':
+					return _setToken(TokenType.COMMA, ",");
+				case ':':
+					return _setToken(TokenType.COLON, ":");
+				case ';':
+					return _setToken(TokenType.SEMICOLON, ";");
+				case '=':
+					return _setToken(TokenType.ASSIGN, "=");
+				case '[':
+					return _setToken(TokenType.LEFT_BRACKET, "[");
+				case ']':
+					return _setToken(TokenType.RIGHT_BRACKET, "]");
+				case '{':
+					return _setToken(TokenType.LEFT_BRACE, "{");
+				case '}':
+					return _setToken(TokenType.RIGHT_BRACE, "}");
+				default:
+					return _setToken(TokenType.OTHER, String.valueOf(c));
+			}
+		}
+
+		_setToken(TokenType.EOF, null);
+
+		return false;
+	}
+
+	public enum TokenType {
+
+		ASSIGN, COLON, COMMA, EOF, IDENTIFIER, LEFT_BRACE, LEFT_BRACKET, LEFT_PAREN, NEW_LINE, OTHER, RIGHT_BRACE,
+		RIGHT_BRACKET, RIGHT_PAREN, SEMICOLON, STRING
+
+	}
+
+	private boolean _matches(String text) {
+		if ((_position + text.length()) > _length) {
+			return false;
+		}
+
+		for (int i = 0; i < text.length(); i++) {
+			if (_scriptContents.charAt(_position + i) != text.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private String _readString(char quote) {
+		String tripleQuote = new String(new char[] {quote, quote, quote});
+
+		boolean triple = _matches(tripleQuote);
+
+		_position += triple ? 3 : 1;
+
+		StringBuilder sb = new StringBuilder();
+
+		while (_position < _length) {
+			char c = _scriptContents.charAt(_position);
+
+			if (c == '\\') {
+				if ((_position + 1) < _length) {
+					sb.append(_scriptContents.charAt(_position + 1));
+				}
+
+				_position += 2;
+
+				continue;
+			}
+
+			if (triple) {
+				if (_matches(tripleQuote)) {
+					_position += 3;
+
+					break;
+				}
+			}
+			else if (c == quote) {
+				_position++;
+
+				break;
+			}
+			else if (c == '\n') {
+				break;
+			}
+
+			sb.append(c);
+
+			_position++;
+		}
+
+		return sb.toString();
+	}
+
+	private String _readWhile(boolean identifier) {
+		int start = _position;
+
+		while (_position < _length) {
+			char c = _scriptContents.charAt(_position);
+
+			if (Character.isJavaIdentifierPart(c) || (!identifier && (c == '.'))) {
+				_position++;
+
+				continue;
+			}
+
+			break;
+		}
+
+		CharSequence charSequence = _scriptContents.subSequence(start, _position);
+
+		return charSequence.toString();
+	}
+
+	private boolean _setToken(TokenType type, String text) {
+		_type = type;
+		_text = text;
+
+		return true;
+	}
+
+	private void _skipBlockComment() {
+		_position += 2;
+
+		while (_position < _length) {
+			if (_matches("*/")) {
+				_position += 2;
+
+				return;
+			}
+
+			_position++;
+		}
+	}
+
+	private void _skipLineComment() {
+		while ((_position < _length) && (_scriptContents.charAt(_position) != '\n')) {
+			_position++;
+		}
+	}
+
+	private final int _length;
+	private int _position;
+	private final CharSequence _scriptContents;
+	private String _text;
+	private TokenType _type;
+
+}
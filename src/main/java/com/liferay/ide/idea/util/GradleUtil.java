@@ -5,23 +5,20 @@
 
 package com.liferay.ide.idea.util;
 
-import com.google.common.collect.ListMultimap;
-
-import com.intellij.execution.process.ProcessHandler;
-import com.intellij.execution.ui.RunContentDescriptor;
-import com.intellij.execution.ui.RunContentManager;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.externalSystem.importing.ImportSpecBuilder;
 import com.intellij.openapi.externalSystem.model.DataNode;
 import com.intellij.openapi.externalSystem.model.ExternalProjectInfo;
 import com.intellij.openapi.externalSystem.model.ProjectKeys;
 import com.intellij.openapi.externalSystem.model.project.LibraryData;
+import com.intellij.openapi.externalSystem.model.project.ModuleData;
+import com.intellij.openapi.externalSystem.model.project.ModuleDependencyData;
 import com.intellij.openapi.externalSystem.model.project.ProjectData;
+import com.intellij.openapi.externalSystem.model.task.TaskData;
 import com.intellij.openapi.externalSystem.service.project.ProjectDataManager;
+import com.intellij.openapi.externalSystem.util.ExternalSystemApiUtil;
 import com.intellij.openapi.externalSystem.util.ExternalSystemUtil;
-import com.intellij.openapi.module.ModifiableModuleModel;
 import com.intellij.openapi.module.Module;
-import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
@@ -29,6 +26,12 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ArrayUtil;
 import com.intellij.util.containers.ContainerUtil;
 
+import com.liferay.ide.idea.core.LiferayGradleConnectionManager;
+import com.liferay.ide.idea.core.LiferayGradleProjectModelService;
+import com.liferay.ide.idea.core.LiferayModuleCapabilityService;
+import com.liferay.ide.idea.core.LiferayWatchTaskRegistry;
+import com.liferay.ide.idea.core.LiferayWorkspaceSettingsService;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -41,9 +44,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
@@ -51,13 +57,8 @@ import java.util.zip.ZipInputStream;
 
 import org.apache.commons.io.FileUtils;
 
-import org.gradle.tooling.GradleConnector;
-import org.gradle.tooling.ModelBuilder;
-import org.gradle.tooling.ProjectConnection;
-import org.gradle.tooling.model.DomainObjectSet;
 import org.gradle.tooling.model.GradleProject;
 
-import org.jetbrains.plugins.gradle.settings.GradleExtensionsSettings;
 import org.jetbrains.plugins.gradle.settings.GradleProjectSettings;
 import org.jetbrains.plugins.gradle.settings.GradleSettings;
 import org.jetbrains.plugins.gradle.util.GradleConstants;
@@ -141,21 +142,37 @@ public class GradleUtil {
 		}
 	}
 
+	public static DependencyManagementModel getDependencyManagementModel(Project project, File javaHomeFile)
+		throws IOException {
+
+		File scriptFile = _writeInitScript("dependency-management.gradle");
+
+		LiferayGradleConnectionManager liferayGradleConnectionManager = LiferayGradleConnectionManager.getInstance(
+			project);
+
+		return liferayGradleConnectionManager.getModel(
+			new File(project.getBasePath()), null, javaHomeFile, DependencyManagementModel.class, "--init-script",
+			scriptFile.getAbsolutePath());
+	}
+
 	public static GradleProject getGradleProject(Module module) {
 		if (module == null) {
 			return null;
 		}
 
-		GradleProject workspaceGradleProject = getWorkspaceGradleProject(module.getProject());
+		LiferayGradleProjectModelService liferayGradleProjectModelService =
+			LiferayGradleProjectModelService.getInstance(module.getProject());
+
+		GradleProjectIndex gradleProjectIndex = liferayGradleProjectModelService.getGradleProjectIndex(true);
 
-		if (workspaceGradleProject == null) {
+		if (gradleProjectIndex == null) {
 			return null;
 		}
 
-		return getNestedGradleProject(workspaceGradleProject, module);
+		return gradleProjectIndex.getGradleProject(module);
 	}
 
-	public static <T> T getModel(Class<T> modelClass, VirtualFile virtualFile) throws Exception {
+	public static <T> T getModel(Project project, Class<T> modelClass, VirtualFile virtualFile) throws Exception {
 		T retval = null;
 
 		Path cachePath = Paths.get(System.getProperty("user.home", "") + "/.liferay-ide");
@@ -187,21 +204,14 @@ public class GradleUtil {
 				FileUtils.writeByteArrayToFile(scriptFile, initScriptContents.getBytes());
 			}
 
-			GradleConnector gradleConnector = GradleConnector.newConnector();
-
-			gradleConnector.useGradleVersion("7.3.3");
-
 			Path virtualFilePath = Paths.get(virtualFile.getPath());
 
-			gradleConnector.forProjectDirectory(virtualFilePath.toFile());
-
-			ProjectConnection connection = gradleConnector.connect();
+			LiferayGradleConnectionManager liferayGradleConnectionManager =
+				LiferayGradleConnectionManager.getInstance(project);
 
-			ModelBuilder<T> model = connection.model(modelClass);
-
-			model.withArguments("--init-script", scriptFile.getAbsolutePath(), "--stacktrace");
-
-			retval = model.get();
+			retval = liferayGradleConnectionManager.getModel(
+				virtualFilePath.toFile(), "7.3.3", modelClass, "--init-script", scriptFile.getAbsolutePath(),
+				"--stacktrace");
 		}
 		catch (Exception exception) {
 			throw exception;
@@ -210,56 +220,90 @@ public class GradleUtil {
 		return retval;
 	}
 
-	public static GradleProject getNestedGradleProject(GradleProject gradleProject, Module module) {
-		if (gradleProject == null) {
-			return null;
-		}
+	/**
+	 * @return the external project path of every imported Gradle module,
+	 *         mapped to the paths of the modules it depends on
+	 */
+	public static Map<String, Set<String>> getModuleDependencyGraph(Project project) {
+		ProjectDataManager projectDataManager = ProjectDataManager.getInstance();
 
-		GradleProject nestedGradleProject;
+		Collection<ExternalProjectInfo> externalProjectInfos = projectDataManager.getExternalProjectsData(
+			project, GradleConstants.SYSTEM_ID);
 
-		try {
-			ModuleManager moduleManager = ModuleManager.getInstance(module.getProject());
+		Map<String, Set<String>> moduleDependencyGraph = new LinkedHashMap<>();
 
-			if (Objects.isNull(moduleManager)) {
-				return null;
+		for (ExternalProjectInfo externalProjectInfo : externalProjectInfos) {
+			DataNode<ProjectData> projectData = externalProjectInfo.getExternalProjectStructure();
+
+			if (projectData == null) {
+				continue;
 			}
 
-			ModifiableModuleModel modifiableModel = moduleManager.getModifiableModel();
+			for (DataNode<ModuleData> moduleDataNode : ExternalSystemApiUtil.findAll(projectData, ProjectKeys.MODULE)) {
+				ModuleData moduleData = moduleDataNode.getData();
+
+				String modulePath = moduleData.getLinkedExternalProjectPath();
 
-			String actualName = modifiableModel.getActualName(module);
+				Set<String> dependencies = moduleDependencyGraph.computeIfAbsent(
+					modulePath, key -> new LinkedHashSet<>());
 
-			if (actualName.contains(".")) {
-				actualName = actualName.substring(actualName.lastIndexOf(".") + 1);
+				for (DataNode<ModuleDependencyData> moduleDependencyDataNode :
+						ExternalSystemApiUtil.findAllRecursively(moduleDataNode, ProjectKeys.MODULE_DEPENDENCY)) {
+
+					ModuleDependencyData moduleDependencyData = moduleDependencyDataNode.getData();
+
+					ModuleData target = moduleDependencyData.getTarget();
+
+					String targetPath = target.getLinkedExternalProjectPath();
+
+					if (!modulePath.equals(targetPath)) {
+						dependencies.add(targetPath);
+					}
+				}
 			}
+		}
+
+		return moduleDependencyGraph;
+	}
+
+	/**
+	 * @return the linked external project paths of the Gradle modules that
+	 *         have a task with the name
+	 */
+	public static Set<String> getModulePathsWithTask(Project project, String taskName) {
+		ProjectDataManager projectDataManager = ProjectDataManager.getInstance();
+
+		Collection<ExternalProjectInfo> externalProjectInfos = projectDataManager.getExternalProjectsData(
+			project, GradleConstants.SYSTEM_ID);
+
+		Set<String> modulePaths = new LinkedHashSet<>();
 
-			String projectName = gradleProject.getName();
+		for (ExternalProjectInfo externalProjectInfo : externalProjectInfos) {
+			DataNode<ProjectData> projectData = externalProjectInfo.getExternalProjectStructure();
 
-			if (projectName.equals(actualName)) {
-				return gradleProject;
+			if (projectData == null) {
+				continue;
 			}
 
-			DomainObjectSet<? extends GradleProject> childGradleProjects = gradleProject.getChildren();
+			for (DataNode<ModuleData> moduleDataNode : ExternalSystemApiUtil.findAll(projectData, ProjectKeys.MODULE)) {
+				Collection<DataNode<TaskData>> taskDataNodes = ExternalSystemApiUtil.findAll(
+					moduleDataNode, ProjectKeys.TASK);
 
-			if (!childGradleProjects.isEmpty()) {
-				for (GradleProject childGradleProject : childGradleProjects) {
-					String childProjectName = childGradleProject.getName();
+				for (DataNode<TaskData> taskDataNode : taskDataNodes) {
+					TaskData taskData = taskDataNode.getData();
 
-					if (childProjectName.equals(actualName)) {
-						return childGradleProject;
-					}
+					if (taskName.equals(taskData.getName())) {
+						ModuleData moduleData = moduleDataNode.getData();
 
-					nestedGradleProject = getNestedGradleProject(childGradleProject, module);
+						modulePaths.add(moduleData.getLinkedExternalProjectPath());
 
-					if (nestedGradleProject != null) {
-						return nestedGradleProject;
+						break;
 					}
 				}
 			}
 		}
-		catch (Exception exception) {
-		}
 
-		return null;
+		return modulePaths;
 	}
 
 	public static List<LibraryData> getTargetPlatformArtifacts(Project project) {
@@ -297,89 +341,46 @@ public class GradleUtil {
 	}
 
 	public static GradleProject getWorkspaceGradleProject(Project project) {
-		Path pathToGradleProject = Paths.get(project.getBasePath());
-
-		GradleConnector gradleConnector = GradleConnector.newConnector(
-		).forProjectDirectory(
-			pathToGradleProject.toFile()
-		);
+		return getWorkspaceGradleProject(project, false);
+	}
 
-		try (ProjectConnection projectConnection = gradleConnector.connect()) {
-			ModelBuilder<GradleProject> modelBuilder = projectConnection.model(GradleProject.class);
+	public static GradleProject getWorkspaceGradleProject(Project project, boolean allowStale) {
+		LiferayGradleProjectModelService liferayGradleProjectModelService =
+			LiferayGradleProjectModelService.getInstance(project);
 
-			return modelBuilder.get();
-		}
+		return liferayGradleProjectModelService.getGradleProject(allowStale);
 	}
 
 	public static String getWorkspacePluginVersion(Project project) {
-		File settingsGradleFile = new File(project.getBasePath(), "settings.gradle");
+		GradleWorkspaceSettings gradleWorkspaceSettings = getWorkspaceSettings(project);
 
-		GradleDependencyUpdater gradleDependencyUpdater = null;
+		return gradleWorkspaceSettings.getWorkspacePluginVersion();
+	}
 
-		try {
-			gradleDependencyUpdater = new GradleDependencyUpdater(settingsGradleFile);
-		}
-		catch (IOException ioException) {
-		}
+	public static GradleWorkspaceSettings getWorkspaceSettings(Project project) {
+		LiferayWorkspaceSettingsService liferayWorkspaceSettingsService =
+			LiferayWorkspaceSettingsService.getInstance(project);
 
-		return Optional.ofNullable(
-			gradleDependencyUpdater
-		).flatMap(
-			updater -> {
-				ListMultimap<String, GradleDependency> dependencies = updater.getAllDependencies();
-
-				List<GradleDependency> artifacts = new ArrayList<>(dependencies.values());
-
-				return artifacts.stream(
-				).filter(
-					artifact -> Objects.equals(artifact.getGroup(), "com.liferay")
-				).filter(
-					artifact -> Objects.equals(artifact.getName(), "com.liferay.gradle.plugins.workspace")
-				).filter(
-					artifact -> !CoreUtil.isNullOrEmpty(artifact.getVersion())
-				).map(
-					GradleDependency::getVersion
-				).findFirst();
-			}
-		).orElseGet(
-			() -> "2.2.4"
-		);
+		return liferayWorkspaceSettingsService.getSettings();
 	}
 
 	public static boolean isWatchableProject(Module module) {
-		Project project = module.getProject();
-
-		RunContentManager runContentManager = RunContentManager.getInstance(project);
-
-		List<RunContentDescriptor> allDescriptors = runContentManager.getAllDescriptors();
-
-		for (RunContentDescriptor descriptor : allDescriptors) {
-			ProcessHandler processHandler = descriptor.getProcessHandler();
-
-			if (processHandler != null) {
-				boolean processTerminated = processHandler.isProcessTerminated();
-
-				if (Objects.equals(project.getName() + " [watch]", descriptor.getDisplayName()) && !processTerminated) {
-					return false;
-				}
-			}
+		if (module == null) {
+			return false;
 		}
 
-		GradleExtensionsSettings.Settings settings = GradleExtensionsSettings.getInstance(project);
+		Project project = module.getProject();
 
-		GradleExtensionsSettings.GradleExtensionsData gradleExtensionsData = settings.getExtensionsFor(module);
+		LiferayWatchTaskRegistry liferayWatchTaskRegistry = LiferayWatchTaskRegistry.getInstance();
 
-		if (gradleExtensionsData == null) {
+		if (liferayWatchTaskRegistry.isWatching(project.getBasePath())) {
 			return false;
 		}
 
-		return gradleExtensionsData.tasksMap.values(
-		).stream(
-		).filter(
-			task -> Objects.equals(task.getName(), "watch")
-		).anyMatch(
-			task -> Objects.deepEquals("com.liferay.gradle.plugins.task.WatchTask", task.getTypeFqn())
-		);
+		LiferayModuleCapabilityService liferayModuleCapabilityService = LiferayModuleCapabilityService.getInstance(
+			project);
+
+		return liferayModuleCapabilityService.isWatchable(module);
 	}
 
 	private static void _extractJar(File depsDir, String jarName) throws IOException {
@@ -437,4 +438,18 @@ public class GradleUtil {
 		return null;
 	}
 
+	private static File _writeInitScript(String scriptName) throws IOException {
+		File scriptFile = new File(System.getProperty("user.home", "") + "/.liferay-ide", scriptName);
+
+		ClassLoader classLoader = GradleUtil.class.getClassLoader();
+
+		try (InputStream inputStream = classLoader.getResourceAsStream("com/liferay/ide/idea/util/" + scriptName)) {
+			String scriptContents = CoreUtil.readStreamToString(inputStream);
+
+			FileUtils.writeByteArrayToFile(scriptFile, scriptContents.getBytes());
+		}
+
+		return scriptFile;
+	}
+
 }
\ No newline at end of file
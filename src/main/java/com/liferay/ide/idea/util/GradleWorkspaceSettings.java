@@ -0,0 +1,101 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import com.google.common.collect.ListMultimap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.osgi.framework.Version;
+
+/**
+ * @author agent
+ */
+public class GradleWorkspaceSettings {
+
+	public static final String DEFAULT_WORKSPACE_PLUGIN_VERSION = "2.2.4";
+
+	public static GradleWorkspaceSettings parse(String scriptContents, long modificationStamp) {
+		if (CoreUtil.isNullOrEmpty(scriptContents)) {
+			return new GradleWorkspaceSettings(
+				modificationStamp, DEFAULT_WORKSPACE_PLUGIN_VERSION, Collections.emptyList());
+		}
+
+		String workspacePluginVersion = DEFAULT_WORKSPACE_PLUGIN_VERSION;
+		List<String> repositories = Collections.emptyList();
+
+		try {
+			GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(scriptContents);
+
+			ListMultimap<String, GradleDependency> dependencies = gradleDependencyExtractor.getAllDependencies();
+
+			List<GradleDependency> artifacts = new ArrayList<>(dependencies.values());
+
+			workspacePluginVersion = artifacts.stream(
+			).filter(
+				artifact -> Objects.equals(artifact.getGroup(), "com.liferay")
+			).filter(
+				artifact -> Objects.equals(artifact.getName(), "com.liferay.gradle.plugins.workspace")
+			).filter(
+				artifact -> !CoreUtil.isNullOrEmpty(artifact.getVersion())
+			).map(
+				GradleDependency::getVersion
+			).findFirst(
+			).orElse(
+				DEFAULT_WORKSPACE_PLUGIN_VERSION
+			);
+
+			repositories = gradleDependencyExtractor.getAllRepositories();
+		}
+		catch (Exception exception) {
+		}
+
+		return new GradleWorkspaceSettings(modificationStamp, workspacePluginVersion, repositories);
+	}
+
+	public long getModificationStamp() {
+		return _modificationStamp;
+	}
+
+	public List<String> getRepositories() {
+		return _repositories;
+	}
+
+	public String getWorkspacePluginVersion() {
+		return _workspacePluginVersion;
+	}
+
+	public boolean isFlexibleWorkspace() {
+		return _flexibleWorkspace;
+	}
+
+	private GradleWorkspaceSettings(long modificationStamp, String workspacePluginVersion, List<String> repositories) {
+		_modificationStamp = modificationStamp;
+		_workspacePluginVersion = workspacePluginVersion;
+		_repositories = Collections.unmodifiableList(new ArrayList<>(repositories));
+
+		boolean flexibleWorkspace = false;
+
+		try {
+			if (CoreUtil.compareVersions(Version.parseVersion(workspacePluginVersion), new Version("2.5.0")) >= 0) {
+				flexibleWorkspace = true;
+			}
+		}
+		catch (IllegalArgumentException illegalArgumentException) {
+		}
+
+		_flexibleWorkspace = flexibleWorkspace;
+	}
+
+	private final boolean _flexibleWorkspace;
+	private final long _modificationStamp;
+	private final List<String> _repositories;
+	private final String _workspacePluginVersion;
+
+}
@@ -15,6 +15,7 @@ import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 
 import com.liferay.ide.idea.core.LiferayCore;
+import com.liferay.ide.idea.core.LiferayModuleCapabilityService;
 import com.liferay.ide.idea.core.WorkspaceConstants;
 import com.liferay.ide.idea.core.WorkspaceProvider;
 import com.liferay.release.util.ReleaseEntry;
@@ -24,7 +25,6 @@ import java.io.File;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -37,7 +37,6 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.idea.maven.model.MavenPlugin;
 import org.jetbrains.idea.maven.project.MavenProject;
 import org.jetbrains.idea.maven.project.MavenProjectsManager;
-import org.jetbrains.plugins.gradle.settings.GradleExtensionsSettings;
 
 import org.osgi.framework.Version;
 
@@ -377,19 +376,10 @@ public class LiferayWorkspaceSupport {
 	}
 
 	public static boolean isWarCoreExtProject(Project project, Module module) {
-		GradleExtensionsSettings.Settings settings = GradleExtensionsSettings.getInstance(project);
+		LiferayModuleCapabilityService liferayModuleCapabilityService = LiferayModuleCapabilityService.getInstance(
+			project);
 
-		GradleExtensionsSettings.GradleExtensionsData gradleExtensionsData = settings.getExtensionsFor(module);
-
-		if (Objects.isNull(gradleExtensionsData)) {
-			return false;
-		}
-
-		Map<String, GradleExtensionsSettings.GradleTask> tasksMap = gradleExtensionsData.tasksMap;
-
-		GradleExtensionsSettings.GradleTask value = tasksMap.get("buildExtInfo");
-
-		return Objects.nonNull(value);
+		return liferayModuleCapabilityService.isWarCoreExt(module);
 	}
 
 	private static final String _BUILD_GRADLE_FILE_NAME = "build.gradle";
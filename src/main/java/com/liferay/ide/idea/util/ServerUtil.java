@@ -8,32 +8,30 @@ package com.liferay.ide.idea.util;
 import com.intellij.execution.RunManager;
 import com.intellij.execution.configurations.ConfigurationType;
 import com.intellij.execution.configurations.RunConfiguration;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
 
 import com.liferay.ide.idea.core.WorkspaceConstants;
 import com.liferay.ide.idea.server.LiferayDockerServerConfigurationType;
 import com.liferay.ide.idea.server.portal.PortalBundle;
 import com.liferay.ide.idea.server.portal.PortalBundleFactory;
+import com.liferay.ide.idea.server.portal.PortalBundleRegistry;
 import com.liferay.ide.idea.server.portal.PortalJBossBundleFactory;
 import com.liferay.ide.idea.server.portal.PortalJBossEapBundleFactory;
 import com.liferay.ide.idea.server.portal.PortalTomcatBundleFactory;
 import com.liferay.ide.idea.server.portal.PortalWildFlyBundleFactory;
 
 import java.io.File;
-import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 
-import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 
 /**
  * @author Terry Jia
@@ -75,140 +73,16 @@ public class ServerUtil {
 		return gogoShellPortValue;
 	}
 
-	public static File[] getMarketplaceLpkgFiles(File runtime) {
-		File marketplace = new File(new File(runtime, "osgi"), "marketplace");
-
-		return marketplace.listFiles((dir, name) -> name.matches(".*\\.lpkg"));
-	}
-
-	public static File getModuleFileFrom70Server(File runtime, String hostOsgiBundle, File temp) {
-		File moduleOsgiBundle = null;
-
-		for (String dir : _osgiBundleDirs) {
-			moduleOsgiBundle = new File(new File(new File(runtime, "osgi"), dir), hostOsgiBundle);
-
-			if (moduleOsgiBundle.exists()) {
-				FileUtil.copyFile(moduleOsgiBundle, new File(temp, hostOsgiBundle));
-
-				return moduleOsgiBundle;
-			}
-		}
-
-		File f = new File(temp, hostOsgiBundle);
-
-		if (f.exists()) {
-			return f;
-		}
-
-		File[] files = getMarketplaceLpkgFiles(runtime);
-
-		InputStream in = null;
-
-		try {
-			boolean found = false;
-
-			for (File file : files) {
-				try (JarFile jar = new JarFile(file)) {
-					Enumeration<JarEntry> enu = jar.entries();
-
-					while (enu.hasMoreElements()) {
-						JarEntry entry = enu.nextElement();
-
-						String name = entry.getName();
-
-						if (name.contains(hostOsgiBundle)) {
-							in = jar.getInputStream(entry);
-							found = true;
-
-							FileUtil.writeFile(f, in);
-
-							break;
-						}
-					}
-
-					if (found) {
-						break;
-					}
-				}
-			}
-		}
-		catch (Exception exception) {
-		}
-		finally {
-			if (in != null) {
-				try {
-					in.close();
-				}
-				catch (IOException ioException) {
-				}
-			}
-		}
-
-		return f;
-	}
-
-	public static List<String> getModuleFileListFrom70Server(File runtime) {
-		List<String> bundles = new ArrayList<>();
-
-		try {
-			for (String dir : _osgiBundleDirs) {
-				File dirFile = new File(new File(runtime, "osgi"), dir);
-
-				if (dirFile.exists()) {
-					File[] files = dirFile.listFiles(
-						new FilenameFilter() {
-
-							@Override
-							public boolean accept(File dir, String name) {
-								return name.matches(".*\\.jar");
-							}
-
-						});
-
-					if ((files != null) && (files.length > 0)) {
-						for (File file : files) {
-							bundles.add(file.getName());
-						}
-					}
-				}
-			}
-		}
-		catch (Exception exception) {
-		}
-
-		File[] files = getMarketplaceLpkgFiles(runtime);
-
-		for (File file : files) {
-			try (JarFile jar = new JarFile(file)) {
-				Enumeration<JarEntry> enu = jar.entries();
-
-				while (enu.hasMoreElements()) {
-					JarEntry entry = enu.nextElement();
-
-					String name = entry.getName();
-
-					if (name.endsWith(".jar")) {
-						bundles.add(name);
-					}
-				}
-			}
-			catch (IOException ioException) {
-			}
-		}
-
-		return bundles;
-	}
-
 	public static PortalBundle getPortalBundle(Path bundlePath) {
-		for (PortalBundleFactory portalBundleFactory : _bundleFactories) {
-			Path appServerPath = portalBundleFactory.findAppServerPath(bundlePath);
+		Application application = ApplicationManager.getApplication();
 
-			if (appServerPath != null) {
-				return portalBundleFactory.create(appServerPath);
-			}
+		if (application == null) {
+			return _findPortalBundle(bundlePath);
 		}
 
-		return null;
+		PortalBundleRegistry portalBundleRegistry = PortalBundleRegistry.getInstance();
+
+		return portalBundleRegistry.getPortalBundle(bundlePath, ServerUtil::_findPortalBundle);
 	}
 
 	public static PortalBundleFactory getPortalBundleFactory(String bundleType) {
@@ -265,6 +139,18 @@ public class ServerUtil {
 		return false;
 	}
 
+	private static PortalBundle _findPortalBundle(Path bundlePath) {
+		for (PortalBundleFactory portalBundleFactory : _bundleFactories) {
+			Path appServerPath = portalBundleFactory.findAppServerPath(bundlePath);
+
+			if (appServerPath != null) {
+				return portalBundleFactory.create(appServerPath);
+			}
+		}
+
+		return null;
+	}
+
 	private static File[] _getPortalExtraPropertiesFiles(PortalBundle portalBundle, String propertyFileName) {
 		File[] retVal = new File[0];
 
@@ -298,6 +184,5 @@ public class ServerUtil {
 		new PortalTomcatBundleFactory(), new PortalJBossBundleFactory(), new PortalJBossEapBundleFactory(),
 		new PortalWildFlyBundleFactory()
 	};
-	private static String[] _osgiBundleDirs = {"core", "modules", "portal", "static"};
 
 }
\ No newline at end of file
@@ -9,13 +9,21 @@ import com.intellij.openapi.util.Pair;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -37,51 +45,83 @@ public class ZipUtil {
 		}
 	}
 
+	/**
+	 * Extracts the entries accepted by the filter. Once a folder entry is
+	 * accepted, all entries below it are extracted to the same directory
+	 * without asking the filter again. Large archives are written in parallel.
+	 */
 	public static void unzip(File file, File destDir, PathFilter pathFilter) throws IOException {
 		try (ZipFile zipFile = open(file)) {
 			Enumeration<? extends ZipEntry> entries = zipFile.entries();
-			Map<String, File> folders = new HashMap<>();
+			FolderTrie folders = new FolderTrie();
+
+			List<Pair<ZipEntry, File>> fileEntries = new ArrayList<>();
+			Set<File> dirs = new HashSet<>();
 
 			while (entries.hasMoreElements()) {
 				ZipEntry entry = entries.nextElement();
 
 				String entryName = entry.getName();
 
-				if (!folders.isEmpty()) {
-					boolean hasCopied = false;
+				// if the entry folder is accepted that means the sub-nodes should be accepted too
+
+				File entryDestDir = folders.find(entryName);
 
-					for (Map.Entry<String, File> e : folders.entrySet()) {
-						if (entryName.startsWith(e.getKey())) {
+				if (entryDestDir == null) {
+					if (pathFilter != null) {
+						Pair<Boolean, File> pair = pathFilter.accept(entryName);
 
-							// if the entry folder is accepted that means the sub-nodes should be accepted too
+						if (!pair.getFirst()) {
+							continue;
+						}
 
-							_copyEntry(zipFile, entry, e.getValue());
-							hasCopied = true;
+						entryDestDir = pair.getSecond();
 
-							break;
+						if (entry.isDirectory()) {
+							folders.put(entryName, entryDestDir);
 						}
 					}
-
-					if (hasCopied) {
-						continue;
+					else {
+						entryDestDir = destDir;
 					}
 				}
 
-				if (pathFilter != null) {
-					Pair<Boolean, File> pair = pathFilter.accept(entryName);
+				File entryFile = new File(entryDestDir, entryName);
 
-					if (pair.getFirst()) {
-						if (entry.isDirectory()) {
-							folders.put(entryName, pair.getSecond());
-						}
-
-						_copyEntry(zipFile, entry, pair.getSecond());
-					}
+				if (entry.isDirectory()) {
+					_mkdir(dirs, entryFile);
 				}
 				else {
-					_copyEntry(zipFile, entry, destDir);
+					_mkdir(dirs, entryFile.getParentFile());
+
+					fileEntries.add(Pair.create(entry, entryFile));
 				}
 			}
+
+			if (fileEntries.size() < _PARALLEL_THRESHOLD) {
+				for (Pair<ZipEntry, File> fileEntry : fileEntries) {
+					_copyEntry(zipFile, fileEntry.getFirst(), fileEntry.getSecond());
+				}
+
+				return;
+			}
+
+			Stream<Pair<ZipEntry, File>> fileEntryStream = fileEntries.parallelStream();
+
+			try {
+				fileEntryStream.forEach(
+					fileEntry -> {
+						try {
+							_copyEntry(zipFile, fileEntry.getFirst(), fileEntry.getSecond());
+						}
+						catch (IOException ioException) {
+							throw new UncheckedIOException(ioException);
+						}
+					});
+			}
+			catch (UncheckedIOException uncheckedIOException) {
+				throw uncheckedIOException.getCause();
+			}
 		}
 	}
 
@@ -98,45 +138,76 @@ public class ZipUtil {
 
 	}
 
-	private static void _copyEntry(ZipFile zip, ZipEntry entry, File destDir) throws IOException {
-		String entryName = entry.getName();
+	private static void _copyEntry(ZipFile zip, ZipEntry entry, File file) throws IOException {
+		try (InputStream in = zip.getInputStream(entry)) {
+			Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
 
-		if (entry.isDirectory()) {
-			File emptyDir = new File(destDir, entryName);
+	private static void _mkdir(Set<File> dirs, File dir) throws IOException {
+		if (!dirs.add(dir)) {
+			return;
+		}
 
-			_mkdir(emptyDir);
+		if (!dir.exists() && !dir.mkdirs()) {
+			String msg = "Could not create dir: " + dir.getPath();
 
-			return;
+			throw new IOException(msg);
 		}
+	}
+
+	private static final int _PARALLEL_THRESHOLD = 64;
 
-		File file = new File(destDir, entryName);
+	/**
+	 * Accepted folders by path segment, so finding the accepted folder of an
+	 * entry only walks the segments of the entry name.
+	 */
+	private static class FolderTrie {
 
-		File dir = file.getParentFile();
+		public File find(String entryName) {
+			FolderTrie folderTrie = this;
 
-		_mkdir(dir);
+			int start = 0;
 
-		try (InputStream in = zip.getInputStream(entry);
-			FileOutputStream out = new FileOutputStream(file)) {
+			while (folderTrie.destDir == null) {
+				int end = entryName.indexOf('/', start);
+
+				if (end == -1) {
+					return null;
+				}
 
-			byte[] bytes = new byte[1024];
+				folderTrie = folderTrie.children.get(entryName.substring(start, end));
 
-			int count = in.read(bytes);
+				if (folderTrie == null) {
+					return null;
+				}
 
-			while (count != -1) {
-				out.write(bytes, 0, count);
-				count = in.read(bytes);
+				start = end + 1;
 			}
 
-			out.flush();
+			return folderTrie.destDir;
 		}
-	}
 
-	private static void _mkdir(File dir) throws IOException {
-		if (!dir.exists() && !dir.mkdirs()) {
-			String msg = "Could not create dir: " + dir.getPath();
+		public void put(String folderName, File destDir) {
+			FolderTrie folderTrie = this;
 
-			throw new IOException(msg);
+			int start = 0;
+			int end = folderName.indexOf('/');
+
+			while (end != -1) {
+				folderTrie = folderTrie.children.computeIfAbsent(
+					folderName.substring(start, end), segment -> new FolderTrie());
+
+				start = end + 1;
+				end = folderName.indexOf('/', start);
+			}
+
+			folderTrie.destDir = destDir;
 		}
+
+		public final Map<String, FolderTrie> children = new HashMap<>();
+		public File destDir;
+
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class LiferayDeploySchedulerTest {
+
+	@After
+	public void tearDown() {
+		_scheduledExecutorService.shutdownNow();
+	}
+
+	@Test
+	public void testDependenciesDeployFirst() throws Exception {
+		Map<String, List<String>> dependencies = new LinkedHashMap<>();
+
+		dependencies.put("web", Arrays.asList("api", "service", "external"));
+		dependencies.put("service", Arrays.asList("api"));
+		dependencies.put("api", Collections.emptyList());
+		dependencies.put("other", Collections.emptyList());
+
+		List<String> finished = Collections.synchronizedList(new ArrayList<>());
+
+		LiferayDeployScheduler<String> liferayDeployScheduler = new LiferayDeployScheduler<>(
+			dependencies, 4, module -> _deploy(module, finished, false));
+
+		CompletableFuture<Void> future = liferayDeployScheduler.start();
+
+		future.get(10, TimeUnit.SECONDS);
+
+		Assert.assertEquals(4, finished.size());
+		Assert.assertTrue(finished.indexOf("api") < finished.indexOf("service"));
+		Assert.assertTrue(finished.indexOf("service") < finished.indexOf("web"));
+	}
+
+	@Test
+	public void testDependencyCycleIsBroken() throws Exception {
+		Map<String, List<String>> dependencies = new LinkedHashMap<>();
+
+		dependencies.put("a", Arrays.asList("b"));
+		dependencies.put("b", Arrays.asList("a"));
+
+		List<String> finished = Collections.synchronizedList(new ArrayList<>());
+
+		LiferayDeployScheduler<String> liferayDeployScheduler = new LiferayDeployScheduler<>(
+			dependencies, 2, module -> _deploy(module, finished, false));
+
+		CompletableFuture<Void> future = liferayDeployScheduler.start();
+
+		future.get(10, TimeUnit.SECONDS);
+
+		Assert.assertEquals(2, finished.size());
+	}
+
+	@Test
+	public void testDependentsOfFailedModuleAreSkipped() throws Exception {
+		Map<String, List<String>> dependencies = new LinkedHashMap<>();
+
+		dependencies.put("api", Collections.emptyList());
+		dependencies.put("service", Arrays.asList("api"));
+		dependencies.put("web", Arrays.asList("service"));
+		dependencies.put("other", Collections.emptyList());
+
+		List<String> finished = Collections.synchronizedList(new ArrayList<>());
+
+		LiferayDeployScheduler<String> liferayDeployScheduler = new LiferayDeployScheduler<>(
+			dependencies, 2, module -> _deploy(module, finished, module.equals("api")));
+
+		CompletableFuture<Void> future = liferayDeployScheduler.start();
+
+		future.get(10, TimeUnit.SECONDS);
+
+		Map<String, CompletableFuture<String>> futures = liferayDeployScheduler.getFutures();
+
+		Assert.assertTrue(futures.get("api").isCompletedExceptionally());
+		Assert.assertFalse(futures.get("api").isCancelled());
+		Assert.assertTrue(futures.get("service").isCancelled());
+		Assert.assertTrue(futures.get("web").isCancelled());
+		Assert.assertEquals("other", futures.get("other").get());
+	}
+
+	@Test
+	public void testParallelismIsBounded() throws Exception {
+		Map<String, List<String>> dependencies = new LinkedHashMap<>();
+
+		for (int i = 0; i < 20; i++) {
+			dependencies.put("module" + i, Collections.emptyList());
+		}
+
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		LiferayDeployScheduler<String> liferayDeployScheduler = new LiferayDeployScheduler<>(
+			dependencies, 3,
+			module -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+				CompletableFuture<String> future = new CompletableFuture<>();
+
+				_scheduledExecutorService.schedule(
+					() -> {
+						running.decrementAndGet();
+
+						future.complete(module);
+					},
+					20, TimeUnit.MILLISECONDS);
+
+				return future;
+			});
+
+		CompletableFuture<Void> future = liferayDeployScheduler.start();
+
+		future.get(10, TimeUnit.SECONDS);
+
+		Assert.assertEquals(3, maxRunning.get());
+	}
+
+	private CompletableFuture<String> _deploy(String module, List<String> finished, boolean fail) {
+		CompletableFuture<String> future = new CompletableFuture<>();
+
+		_scheduledExecutorService.schedule(
+			() -> {
+				if (fail) {
+					future.completeExceptionally(new IllegalStateException(module));
+
+					return;
+				}
+
+				finished.add(module);
+
+				future.complete(module);
+			},
+			20, TimeUnit.MILLISECONDS);
+
+		return future;
+	}
+
+	private final ScheduledExecutorService _scheduledExecutorService = Executors.newScheduledThreadPool(4);
+
+}
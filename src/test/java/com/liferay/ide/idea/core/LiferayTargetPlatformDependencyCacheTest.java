@@ -0,0 +1,142 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.core;
+
+import java.io.File;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class LiferayTargetPlatformDependencyCacheTest {
+
+	@Test
+	public void testConcurrentCallersShareOneLoad() throws Exception {
+		File cacheDir = temporaryFolder.newFolder();
+
+		LiferayTargetPlatformDependencyCache liferayTargetPlatformDependencyCache =
+			new LiferayTargetPlatformDependencyCache(cacheDir.toPath());
+
+		AtomicInteger loadCount = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+		try {
+			Future<List<String>> firstFuture = executorService.submit(
+				() -> liferayTargetPlatformDependencyCache.getDependencies(
+					"7.4.3.112", "10.1.5",
+					() -> {
+						loadCount.incrementAndGet();
+						loading.countDown();
+
+						try {
+							release.await(10, TimeUnit.SECONDS);
+						}
+						catch (InterruptedException interruptedException) {
+							throw new RuntimeException(interruptedException);
+						}
+
+						return _DEPENDENCIES;
+					}));
+
+			Assert.assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+			Future<List<String>> secondFuture = executorService.submit(
+				() -> liferayTargetPlatformDependencyCache.getDependencies(
+					"7.4.3.112", "10.1.5",
+					() -> {
+						loadCount.incrementAndGet();
+
+						return Collections.emptyList();
+					}));
+
+			release.countDown();
+
+			Assert.assertEquals(_DEPENDENCIES, firstFuture.get(10, TimeUnit.SECONDS));
+			Assert.assertEquals(_DEPENDENCIES, secondFuture.get(10, TimeUnit.SECONDS));
+			Assert.assertEquals(1, loadCount.get());
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testDependenciesArePersisted() throws Exception {
+		File cacheDir = temporaryFolder.newFolder();
+
+		LiferayTargetPlatformDependencyCache liferayTargetPlatformDependencyCache =
+			new LiferayTargetPlatformDependencyCache(cacheDir.toPath());
+
+		Assert.assertEquals(
+			_DEPENDENCIES,
+			liferayTargetPlatformDependencyCache.getDependencies("7.4.3.112", "10.1.5", () -> _DEPENDENCIES));
+
+		Assert.assertEquals(
+			Files.readAllLines(new File(TEST_DATA_PATH, "7.4.3.112_10.1.5.txt").toPath()),
+			Files.readAllLines(new File(cacheDir, "7.4.3.112_10.1.5.txt").toPath()));
+	}
+
+	@Test
+	public void testEmptyResultsAreNotPersisted() throws Exception {
+		File cacheDir = temporaryFolder.newFolder();
+
+		LiferayTargetPlatformDependencyCache liferayTargetPlatformDependencyCache =
+			new LiferayTargetPlatformDependencyCache(cacheDir.toPath());
+
+		List<String> dependencies = liferayTargetPlatformDependencyCache.getDependencies(
+			"7.4.3.112", "10.1.5", Collections::emptyList);
+
+		Assert.assertTrue(dependencies.isEmpty());
+
+		Assert.assertEquals(
+			_DEPENDENCIES,
+			liferayTargetPlatformDependencyCache.getDependencies("7.4.3.112", "10.1.5", () -> _DEPENDENCIES));
+	}
+
+	@Test
+	public void testPersistedDependenciesAreNotLoadedAgain() {
+		LiferayTargetPlatformDependencyCache liferayTargetPlatformDependencyCache =
+			new LiferayTargetPlatformDependencyCache(Paths.get(TEST_DATA_PATH));
+
+		Assert.assertEquals(
+			_DEPENDENCIES,
+			liferayTargetPlatformDependencyCache.getDependencies(
+				"7.4.3.112", "10.1.5",
+				() -> {
+					throw new AssertionError("Persisted dependencies should not be loaded again");
+				}));
+	}
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	protected static final String TEST_DATA_PATH =
+		"testdata/com/liferay/ide/idea/core/LiferayTargetPlatformDependencyCacheTest";
+
+	private static final List<String> _DEPENDENCIES = Arrays.asList(
+		"com.liferay.portal:release.portal.api:7.4.3.112", "org.osgi:osgi.core:6.0.0");
+
+}
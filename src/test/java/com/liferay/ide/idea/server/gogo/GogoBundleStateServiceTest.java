@@ -0,0 +1,65 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.server.gogo;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class GogoBundleStateServiceTest {
+
+	@Test
+	public void testParseBundles() {
+		String output = String.join(
+			"\r\n", "lb -s", "START LEVEL 20", "   ID|State      |Level|Symbolic name",
+			"    0|Active     |    0|org.eclipse.osgi (3.13.0.v20180226-1711)",
+			"  812|Resolved   |   10|com.liferay.foo.web (1.0.0)", "  813|Installed  |   10|com.liferay.bar.api",
+			"  814|Active     |   10|com.liferay.baz.service (2.1.0.SNAPSHOT)");
+
+		Map<Long, GogoBundle> bundles = GogoBundleStateService.parseBundles(output);
+
+		Assert.assertEquals(bundles.toString(), 4, bundles.size());
+
+		GogoBundle gogoBundle = bundles.get(812L);
+
+		Assert.assertEquals("com.liferay.foo.web", gogoBundle.getSymbolicName());
+		Assert.assertEquals("1.0.0", gogoBundle.getVersion());
+		Assert.assertEquals("Resolved", gogoBundle.getState());
+		Assert.assertFalse(gogoBundle.isActive());
+
+		gogoBundle = bundles.get(813L);
+
+		Assert.assertEquals("com.liferay.bar.api", gogoBundle.getSymbolicName());
+		Assert.assertEquals("", gogoBundle.getVersion());
+
+		gogoBundle = bundles.get(814L);
+
+		Assert.assertEquals("2.1.0.SNAPSHOT", gogoBundle.getVersion());
+		Assert.assertTrue(gogoBundle.isActive());
+	}
+
+	@Test
+	public void testParseBundlesWithoutOutput() {
+		Assert.assertTrue(GogoBundleStateService.parseBundles(null).isEmpty());
+		Assert.assertTrue(GogoBundleStateService.parseBundles("").isEmpty());
+		Assert.assertTrue(GogoBundleStateService.parseBundles("gogo: CommandNotFoundException").isEmpty());
+	}
+
+	@Test
+	public void testParseLastModified() {
+		Assert.assertEquals(
+			1760680000123L,
+			GogoBundleStateService.parseLastModified("(bundle 812) lastmodified\r\n1760680000123\r\n"));
+		Assert.assertEquals(-1, GogoBundleStateService.parseLastModified(null));
+		Assert.assertEquals(
+			-1, GogoBundleStateService.parseLastModified("gogo: IllegalArgumentException: Cannot coerce bundle"));
+	}
+
+}
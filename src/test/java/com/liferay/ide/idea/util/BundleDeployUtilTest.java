@@ -0,0 +1,114 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class BundleDeployUtilTest {
+
+	@Test
+	public void testContentHashIgnoresBuildTimes() throws Exception {
+		Path jar1 = Paths.get(TEST_DATA_PATH, "com.liferay.foo-build1.jar");
+		Path jar2 = Paths.get(TEST_DATA_PATH, "com.liferay.foo-build2.jar");
+
+		Assert.assertEquals(BundleDeployUtil.getContentHash(jar1), BundleDeployUtil.getContentHash(jar2));
+
+		Path jar3 = Paths.get(TEST_DATA_PATH, "com.liferay.foo-changed.jar");
+
+		Assert.assertNotEquals(BundleDeployUtil.getContentHash(jar1), BundleDeployUtil.getContentHash(jar3));
+	}
+
+	@Test
+	public void testDeployRemovesOtherCopiesOfBundle() throws Exception {
+		File libsDir = temporaryFolder.newFolder("libs");
+		File modulesDir = temporaryFolder.newFolder("modules");
+
+		Path libsPath = libsDir.toPath();
+		Path modulesPath = modulesDir.toPath();
+
+		_copy("com.liferay.foo-build1.jar", modulesPath.resolve("com.liferay.foo-0.9.0.jar"));
+		_copy("com.liferay.bar.jar", modulesPath.resolve("com.liferay.bar.jar"));
+		_copy("com.liferay.bar.jar", modulesPath.resolve("com.liferay.foo-web.jar"));
+
+		Path bundleJar = _copy("com.liferay.foo-build1.jar", libsPath.resolve("com.liferay.foo-1.0.0.jar"));
+
+		Assert.assertTrue(BundleDeployUtil.deploy(bundleJar, modulesPath));
+
+		String[] fileNames = modulesDir.list();
+
+		Arrays.sort(fileNames);
+
+		Assert.assertArrayEquals(
+			new String[] {"com.liferay.bar.jar", "com.liferay.foo-web.jar", "com.liferay.foo.jar"}, fileNames);
+	}
+
+	@Test
+	public void testDeploySkipsUnchangedBundle() throws Exception {
+		File libsDir = temporaryFolder.newFolder("libs");
+		File modulesDir = temporaryFolder.newFolder("modules");
+
+		Path libsPath = libsDir.toPath();
+		Path modulesPath = modulesDir.toPath();
+
+		Path bundleJar = _copy("com.liferay.foo-build1.jar", libsPath.resolve("com.liferay.foo-1.0.0.jar"));
+
+		Assert.assertTrue(BundleDeployUtil.deploy(bundleJar, modulesPath));
+
+		Path deployedJar = modulesPath.resolve("com.liferay.foo.jar");
+
+		Assert.assertTrue(Files.exists(deployedJar));
+
+		_copy("com.liferay.foo-build2.jar", bundleJar);
+
+		Assert.assertFalse(BundleDeployUtil.deploy(bundleJar, modulesPath));
+
+		_copy("com.liferay.foo-changed.jar", bundleJar);
+
+		Assert.assertTrue(BundleDeployUtil.deploy(bundleJar, modulesPath));
+		Assert.assertEquals(BundleDeployUtil.getContentHash(bundleJar), BundleDeployUtil.getContentHash(deployedJar));
+
+		String[] fileNames = modulesDir.list();
+
+		Assert.assertEquals(1, fileNames.length);
+	}
+
+	@Test
+	public void testGetBundleSymbolicName() throws Exception {
+		Path fooJar = Paths.get(TEST_DATA_PATH, "com.liferay.foo-build1.jar");
+
+		Assert.assertEquals("com.liferay.foo", BundleDeployUtil.getBundleSymbolicName(fooJar));
+
+		Path barJar = Paths.get(TEST_DATA_PATH, "com.liferay.bar.jar");
+
+		Assert.assertEquals("com.liferay.bar", BundleDeployUtil.getBundleSymbolicName(barJar));
+	}
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	protected static final String TEST_DATA_PATH = "testdata/com/liferay/ide/idea/util/BundleDeployUtilTest";
+
+	private Path _copy(String fileName, Path target) throws IOException {
+		return Files.copy(Paths.get(TEST_DATA_PATH, fileName), target, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+}
@@ -0,0 +1,99 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import java.io.File;
+
+import java.nio.file.Path;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class FileListingTest {
+
+	@Test
+	public void testGetFileListing() throws Exception {
+		File dir = new File(TEST_DATA_PATH, "workspace");
+
+		List<File> files = FileListing.getFileListing(dir);
+
+		Assert.assertEquals(files.toString(), 19, files.size());
+
+		int moduleIndex = files.indexOf(new File(dir, "modules/foo"));
+
+		Assert.assertTrue(moduleIndex < files.indexOf(new File(dir, "modules/foo/bnd.bnd")));
+	}
+
+	@Test
+	public void testWalkExcludes() throws Exception {
+		File dir = new File(TEST_DATA_PATH, "workspace");
+
+		Path startDir = dir.toPath();
+
+		List<String> excludeGlobs = Arrays.asList("node_modules", "build", ".gradle", "bundles");
+
+		Set<String> paths;
+
+		try (Stream<Path> stream = FileListing.walk(startDir, excludeGlobs)) {
+			paths = stream.map(
+				path -> _toString(startDir, path)
+			).collect(
+				Collectors.toCollection(TreeSet::new)
+			);
+		}
+
+		Assert.assertEquals(
+			new TreeSet<>(
+				Arrays.asList(
+					"modules", "modules/foo", "modules/foo/bnd.bnd", "modules/foo/src", "modules/foo/src/Foo.java",
+					"settings.gradle")),
+			paths);
+
+		try (Stream<Path> stream = FileListing.walk(startDir, Collections.singletonList("modules/foo/src"))) {
+			paths = stream.map(
+				path -> _toString(startDir, path)
+			).collect(
+				Collectors.toCollection(TreeSet::new)
+			);
+		}
+
+		Assert.assertTrue(paths.contains("modules/foo/build/libs/foo.jar"));
+		Assert.assertFalse(paths.contains("modules/foo/src/Foo.java"));
+	}
+
+	@Test
+	public void testWalkStopsEarly() throws Exception {
+		File dir = new File(TEST_DATA_PATH, "workspace");
+
+		try (Stream<Path> stream = FileListing.walk(dir.toPath(), Collections.emptyList())) {
+			Assert.assertTrue(stream.anyMatch(path -> String.valueOf(path.getFileName()).endsWith(".jar")));
+		}
+
+		try (Stream<Path> stream = FileListing.walk(new File(dir, "missing").toPath(), Collections.emptyList())) {
+			Assert.assertEquals(0, stream.count());
+		}
+	}
+
+	protected static final String TEST_DATA_PATH = "testdata/com/liferay/ide/idea/util/FileListingTest";
+
+	private String _toString(Path startDir, Path path) {
+		Path relativePath = startDir.relativize(path);
+
+		return relativePath.toString();
+	}
+
+}
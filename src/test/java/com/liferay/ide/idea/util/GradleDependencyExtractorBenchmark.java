@@ -0,0 +1,84 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import com.google.common.collect.ListMultimap;
+
+import java.io.File;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the Groovy AST based {@link GradleDependencyUpdater} with the
+ * streaming {@link GradleDependencyExtractor}. Run {@link #main(String[])}
+ * from the project root so the test data files can be found.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class GradleDependencyExtractorBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder(
+		).include(
+			GradleDependencyExtractorBenchmark.class.getSimpleName()
+		).build();
+
+		Runner runner = new Runner(options);
+
+		runner.run();
+	}
+
+	@Benchmark
+	public ListMultimap<String, GradleDependency> astExtraction() {
+		GradleDependencyUpdater gradleDependencyUpdater = new GradleDependencyUpdater(_scriptContents);
+
+		return gradleDependencyUpdater.getAllDependencies();
+	}
+
+	@Setup
+	public void setUp() throws Exception {
+		_scriptContents = FileUtils.readFileToString(
+			new File(GradleDependencyExtractorTest.TEST_DATA_PATH, fileName), StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public ListMultimap<String, GradleDependency> streamingExtraction() {
+		GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(_scriptContents);
+
+		return gradleDependencyExtractor.getAllDependencies();
+	}
+
+	@Param({"build.gradle", "settings.gradle"})
+	public String fileName;
+
+	private String _scriptContents;
+
+}
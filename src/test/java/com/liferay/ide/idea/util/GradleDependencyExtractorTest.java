@@ -0,0 +1,94 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import java.io.File;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class GradleDependencyExtractorTest {
+
+	@Test
+	public void testBuildGradleMatchesAstExtraction() throws Exception {
+		_assertMatchesAstExtraction(new File(TEST_DATA_PATH, "build.gradle"));
+	}
+
+	@Test
+	public void testBuildGradleRepositories() throws Exception {
+		GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(
+			new File(TEST_DATA_PATH, "build.gradle"));
+
+		Assert.assertEquals(
+			Collections.singletonList("https://repository-cdn.liferay.com/nexus/content/groups/public"),
+			gradleDependencyExtractor.getAllRepositories());
+	}
+
+	@Test
+	public void testOriginalModule() throws Exception {
+		GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(
+			new File(TEST_DATA_PATH, "build.gradle"));
+
+		List<GradleDependency> originalModules = gradleDependencyExtractor.getDependenciesByName("originalModule");
+
+		Assert.assertEquals(originalModules.toString(), 1, originalModules.size());
+
+		GradleDependency gradleDependency = originalModules.get(0);
+
+		Assert.assertEquals("com.liferay", gradleDependency.getGroup());
+		Assert.assertEquals("com.liferay.login.web", gradleDependency.getName());
+		Assert.assertNull(gradleDependency.getVersion());
+	}
+
+	@Test
+	public void testSettingsGradleMatchesAstExtraction() throws Exception {
+		_assertMatchesAstExtraction(new File(TEST_DATA_PATH, "settings.gradle"));
+	}
+
+	@Test
+	public void testSettingsGradleRepositories() throws Exception {
+		GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(
+			new File(TEST_DATA_PATH, "settings.gradle"));
+
+		Assert.assertEquals(
+			Arrays.asList("mavenLocal", "https://repository-cdn.liferay.com/nexus/content/groups/public"),
+			gradleDependencyExtractor.getAllRepositories());
+	}
+
+	@Test
+	public void testStringAndMapNotations() {
+		GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(
+			String.join(
+				"\n", "dependencies {", "\tcompileOnly(\"com.liferay.portal:com.liferay.portal.kernel:5.4.0\")",
+				"\tcompileOnly group: 'org.osgi', name: 'osgi.core',", "\t\tversion: '6.0.0'",
+				"\t/* compileOnly 'commented:out:1.0' */", "}"));
+
+		List<GradleDependency> dependencies = gradleDependencyExtractor.getDependenciesByName("compileOnly");
+
+		Assert.assertEquals(dependencies.toString(), 2, dependencies.size());
+		Assert.assertEquals(
+			new GradleDependency("com.liferay.portal", "com.liferay.portal.kernel", "5.4.0"), dependencies.get(0));
+		Assert.assertEquals(new GradleDependency("org.osgi", "osgi.core", "6.0.0"), dependencies.get(1));
+	}
+
+	protected static final String TEST_DATA_PATH =
+		"testdata/com/liferay/ide/idea/util/GradleDependencyExtractorTest";
+
+	private void _assertMatchesAstExtraction(File file) throws Exception {
+		GradleDependencyExtractor gradleDependencyExtractor = new GradleDependencyExtractor(file);
+		GradleDependencyUpdater gradleDependencyUpdater = new GradleDependencyUpdater(file);
+
+		Assert.assertEquals(gradleDependencyUpdater.getAllDependencies(), gradleDependencyExtractor.getAllDependencies());
+	}
+
+}
@@ -0,0 +1,48 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class GradleWorkspaceSettingsTest {
+
+	@Test
+	public void testDefaultsWithoutSettingsScript() {
+		GradleWorkspaceSettings gradleWorkspaceSettings = GradleWorkspaceSettings.parse(null, 1L);
+
+		Assert.assertEquals(
+			GradleWorkspaceSettings.DEFAULT_WORKSPACE_PLUGIN_VERSION,
+			gradleWorkspaceSettings.getWorkspacePluginVersion());
+		Assert.assertFalse(gradleWorkspaceSettings.isFlexibleWorkspace());
+		Assert.assertTrue(gradleWorkspaceSettings.getRepositories().isEmpty());
+		Assert.assertEquals(1L, gradleWorkspaceSettings.getModificationStamp());
+	}
+
+	@Test
+	public void testParseSettingsScript() {
+		GradleWorkspaceSettings gradleWorkspaceSettings = GradleWorkspaceSettings.parse(_SETTINGS_GRADLE, 2L);
+
+		Assert.assertEquals("10.1.5", gradleWorkspaceSettings.getWorkspacePluginVersion());
+		Assert.assertTrue(gradleWorkspaceSettings.isFlexibleWorkspace());
+		Assert.assertEquals(
+			Arrays.asList("mavenLocal", "https://repository-cdn.liferay.com/nexus/content/groups/public"),
+			gradleWorkspaceSettings.getRepositories());
+	}
+
+	private static final String _SETTINGS_GRADLE = String.join(
+		"\n", "buildscript {", "\tdependencies {",
+		"\t\tclasspath group: \"com.liferay\", name: \"com.liferay.gradle.plugins.workspace\", version: \"10.1.5\"",
+		"\t}", "", "\trepositories {", "\t\tmavenLocal()", "", "\t\tmaven {",
+		"\t\t\turl \"https://repository-cdn.liferay.com/nexus/content/groups/public\"", "\t\t}", "\t}", "}", "",
+		"apply plugin: \"com.liferay.workspace\"");
+
+}
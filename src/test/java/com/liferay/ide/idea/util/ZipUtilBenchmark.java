@@ -0,0 +1,159 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import com.intellij.openapi.util.Pair;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link ZipUtil#unzip(File, File, ZipUtil.PathFilter)} on a source
+ * jar. Pass a portal source jar, like the sources of
+ * com.liferay.portal.impl, with <code>-Dliferay.source.jar=path</code>,
+ * otherwise a jar of generated sources is used.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class ZipUtilBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder(
+		).include(
+			ZipUtilBenchmark.class.getSimpleName()
+		).build();
+
+		Runner runner = new Runner(options);
+
+		runner.run();
+	}
+
+	@Setup
+	public void setUp() throws Exception {
+		String sourceJar = System.getProperty("liferay.source.jar");
+
+		if (sourceJar != null) {
+			_sourceJar = new File(sourceJar);
+
+			return;
+		}
+
+		_sourceJar = File.createTempFile("sources", ".jar");
+
+		_createSourceJar(_sourceJar);
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpDestDir() throws IOException {
+		Path destPath = Files.createTempDirectory("unzip");
+
+		_destDir = destPath.toFile();
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (System.getProperty("liferay.source.jar") == null) {
+			FileUtils.deleteQuietly(_sourceJar);
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void tearDownDestDir() {
+		FileUtils.deleteQuietly(_destDir);
+	}
+
+	@Benchmark
+	public void unzipAll() throws IOException {
+		ZipUtil.unzip(_sourceJar, _destDir, null);
+	}
+
+	@Benchmark
+	public void unzipSelectedFolders() throws IOException {
+		ZipUtil.unzip(
+			_sourceJar, _destDir,
+			path -> {
+
+				// Accept every folder three levels deep, like com/liferay/portal/
+
+				if (path.endsWith("/") && (path.split("/").length == 3)) {
+					return Pair.create(true, _destDir);
+				}
+
+				return Pair.create(false, null);
+			});
+	}
+
+	private void _createSourceJar(File file) throws IOException {
+		try (OutputStream outputStream = Files.newOutputStream(file.toPath());
+			ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+
+			StringBuilder sb = new StringBuilder();
+
+			for (int i = 0; i < 400; i++) {
+				sb.append("\tpublic void method");
+				sb.append(i);
+				sb.append("() {\n\t}\n\n");
+			}
+
+			String source = sb.toString();
+
+			byte[] content = source.getBytes(StandardCharsets.UTF_8);
+
+			for (int i = 0; i < 50; i++) {
+				String folder = "com/liferay/module" + i + "/";
+
+				zipOutputStream.putNextEntry(new ZipEntry(folder));
+
+				zipOutputStream.closeEntry();
+
+				for (int j = 0; j < 100; j++) {
+					zipOutputStream.putNextEntry(new ZipEntry(folder + "Class" + j + ".java"));
+
+					zipOutputStream.write(content);
+
+					zipOutputStream.closeEntry();
+				}
+			}
+		}
+	}
+
+	private File _destDir;
+	private File _sourceJar;
+
+}
@@ -0,0 +1,91 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2023 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.ide.idea.util;
+
+import com.intellij.openapi.util.Pair;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class ZipUtilTest {
+
+	@Test
+	public void testUnzipAcceptedFolders() throws Exception {
+		File zipFile = new File(TEST_DATA_PATH, "accepted-folders.zip");
+
+		File sourceDir = temporaryFolder.newFolder("java");
+		File resourcesDir = temporaryFolder.newFolder("resources");
+
+		List<String> acceptedPaths = new ArrayList<>();
+
+		ZipUtil.unzip(
+			zipFile, sourceDir,
+			path -> {
+				acceptedPaths.add(path);
+
+				if (path.equals("com/liferay/foo/")) {
+					return Pair.create(true, sourceDir);
+				}
+
+				if (path.equals("content/Language.properties")) {
+					return Pair.create(true, resourcesDir);
+				}
+
+				return Pair.create(false, null);
+			});
+
+		Assert.assertEquals("com/liferay/foo/Foo.java", _read(new File(sourceDir, "com/liferay/foo/Foo.java")));
+		Assert.assertEquals(
+			"com/liferay/foo/bar/Bar.java", _read(new File(sourceDir, "com/liferay/foo/bar/Bar.java")));
+		Assert.assertFalse(new File(sourceDir, "com/liferay/foobar/Foobar.java").exists());
+		Assert.assertEquals(
+			"content/Language.properties", _read(new File(resourcesDir, "content/Language.properties")));
+
+		// Entries below an accepted folder are not passed to the filter
+
+		Assert.assertFalse(acceptedPaths.contains("com/liferay/foo/bar/Bar.java"));
+		Assert.assertTrue(acceptedPaths.contains("com/liferay/foobar/Foobar.java"));
+	}
+
+	@Test
+	public void testUnzipManyEntries() throws Exception {
+		File destDir = temporaryFolder.newFolder();
+
+		ZipUtil.unzip(new File(TEST_DATA_PATH, "many-entries.zip"), destDir, null);
+
+		// Enough entries to be written in parallel
+
+		for (int i = 0; i < 100; i++) {
+			String entryName = "com/liferay/module" + (i % 7) + "/Class" + i + ".java";
+
+			Assert.assertEquals(entryName, _read(new File(destDir, entryName)));
+		}
+	}
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	protected static final String TEST_DATA_PATH = "testdata/com/liferay/ide/idea/util/ZipUtilTest";
+
+	private String _read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1 @@
+modules/foo/src/Foo.java